@@ -0,0 +1,17 @@
+package com.sunrobotics.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Generates accessors with LambdaMetafactory instead of reflective getter calls.
+    // Spring Boot registers every Module bean on the shared ObjectMapper.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,87 @@
+package com.sunrobotics.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sunrobotics.timing.RequestTiming;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository stream as a JSON array element by element, so list endpoints never
+ * hold the whole result (entities or bytes) in memory. The stream is opened inside a
+ * read-only transaction on the async response thread, which keeps the JDBC cursor alive.
+ * Rows are mapped to DTOs and then dropped from the persistence context every
+ * {@value #CLEAR_EVERY} rows, so loaded entities don't pile up until the transaction ends.
+ */
+@Component
+public class JsonArrayStreamer {
+
+    // Same as the repositories' fetch size: one cursor round trip per clear
+    static final int CLEAR_EVERY = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public <E, R> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<E>> query,
+                                                               Function<E, R> mapper,
+                                                               Class<R> elementType) {
+        ObjectWriter writer = objectMapper.writerFor(elementType)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        // The body runs on the async thread; carry the request's timing over so its SQL is counted
+        RequestTiming timing = RequestTiming.current();
+
+        StreamingResponseBody body = out -> {
+            if (timing != null) {
+                RequestTiming.attach(timing);
+                timing.serializationStarted();
+            }
+            try {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                tx.setReadOnly(true);
+                tx.executeWithoutResult(status -> {
+                    try (Stream<E> rows = query.get(); SequenceWriter array = writer.writeValuesAsArray(out)) {
+                        long[] written = {0};
+                        rows.forEach(row -> {
+                            try {
+                                array.write(mapper.apply(row));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            // Already serialized; clear() also drops associations (e.g. an application's job)
+                            if (++written[0] % CLEAR_EVERY == 0) {
+                                entityManager.clear();
+                            }
+                        });
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                RequestTiming.detach();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
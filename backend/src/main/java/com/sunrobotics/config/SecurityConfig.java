@@ -1,6 +1,7 @@
 package com.sunrobotics.config;
 
 import com.sunrobotics.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +30,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for REST APIs
                 .cors(cors -> cors.configure(http)) // Enable CORS from CorsConfig
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed list responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // Login is public
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/jobs/**").permitAll() // Viewing jobs is public
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/blogs/**").permitAll()
@@ -1,15 +1,26 @@
 package com.sunrobotics.controller;
 
-import com.sunrobotics.model.Application;
-import com.sunrobotics.model.ContactMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sunrobotics.config.JsonArrayStreamer;
+import com.sunrobotics.dto.ApplicationResponseDto;
+import com.sunrobotics.dto.ContactMessageResponseDto;
+import com.sunrobotics.dto.EndpointTimingDto;
+import com.sunrobotics.dto.JobResponseDto;
 import com.sunrobotics.model.Job;
 import com.sunrobotics.service.ApplicationService;
+import com.sunrobotics.service.ArchiveService;
 import com.sunrobotics.service.ContactService;
 import com.sunrobotics.service.JobService;
+import com.sunrobotics.timing.TimingStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -27,21 +38,35 @@ public class AdminController {
     @Autowired
     private ContactService contactService;
 
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Autowired
+    private TimingStats timingStats;
+
     // --- JOB MANAGEMENT ---
 
     @GetMapping("/jobs")
-    public List<Job> getAllJobs() {
-        return jobService.getAllJobsForAdmin();
+    public ResponseEntity<StreamingResponseBody> getAllJobs() {
+        return jsonArrayStreamer.stream(jobService::streamAllJobsForAdmin, JobResponseDto::from, JobResponseDto.class);
     }
 
     @PostMapping("/jobs")
-    public ResponseEntity<Job> createJob(@RequestBody Job job) {
-        return ResponseEntity.ok(jobService.createJob(job));
+    public ResponseEntity<JobResponseDto> createJob(@RequestBody Job job) {
+        return ResponseEntity.ok(JobResponseDto.from(jobService.createJob(job)));
     }
 
     @PutMapping("/jobs/{id}")
-    public ResponseEntity<Job> updateJob(@PathVariable Long id, @RequestBody Job jobDetails) {
-        return ResponseEntity.ok(jobService.updateJob(id, jobDetails));
+    public ResponseEntity<JobResponseDto> updateJob(@PathVariable Long id, @RequestBody Job jobDetails) {
+        return ResponseEntity.ok(JobResponseDto.from(jobService.updateJob(id, jobDetails)));
+    }
+
+    @PatchMapping(value = "/jobs/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<JobResponseDto> patchJob(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(JobResponseDto.from(jobService.patchJob(id, patch)));
     }
 
     @DeleteMapping("/jobs/{id}")
@@ -53,28 +78,54 @@ public class AdminController {
     // --- APPLICATION MANAGEMENT ---
 
     @GetMapping("/applications")
-    public List<Application> getAllApplications() {
-        return applicationService.getAllApplications();
+    public ResponseEntity<StreamingResponseBody> getAllApplications(@RequestParam(required = false) String status) {
+        return jsonArrayStreamer.stream(() -> applicationService.streamAllApplications(status),
+                ApplicationResponseDto::from, ApplicationResponseDto.class);
+    }
+
+    @GetMapping("/applications/search")
+    public Page<ApplicationResponseDto> searchApplications(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return applicationService.searchApplications(q, status, from, to, pageRequest(page, size))
+                .map(ApplicationResponseDto::from);
     }
 
     @PatchMapping("/applications/{id}/status")
-    public ResponseEntity<Application> updateApplicationStatus(
+    public ResponseEntity<ApplicationResponseDto> updateApplicationStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> statusMap) {
         String status = statusMap.get("status");
-        return ResponseEntity.ok(applicationService.updateApplicationStatus(id, status));
+        return ResponseEntity.ok(ApplicationResponseDto.from(applicationService.updateApplicationStatus(id, status)));
     }
 
     // --- CONTACT MESSAGES ---
 
     @GetMapping("/messages")
-    public List<ContactMessage> getAllMessages() {
-        return contactService.getAllMessages();
+    public ResponseEntity<StreamingResponseBody> getAllMessages() {
+        return jsonArrayStreamer.stream(contactService::streamAllMessages,
+                ContactMessageResponseDto::from, ContactMessageResponseDto.class);
+    }
+
+    @GetMapping("/messages/search")
+    public Page<ContactMessageResponseDto> searchMessages(
+            @RequestParam String q,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return contactService.searchMessages(q, read, from, to, pageRequest(page, size))
+                .map(ContactMessageResponseDto::from);
     }
 
     @PatchMapping("/messages/{id}/read")
-    public ResponseEntity<ContactMessage> markMessageAsRead(@PathVariable Long id) {
-        return ResponseEntity.ok(contactService.markAsRead(id));
+    public ResponseEntity<ContactMessageResponseDto> markMessageAsRead(@PathVariable Long id) {
+        return ResponseEntity.ok(ContactMessageResponseDto.from(contactService.markAsRead(id)));
     }
 
     @DeleteMapping("/messages/{id}")
@@ -82,4 +133,31 @@ public class AdminController {
         contactService.deleteMessage(id);
         return ResponseEntity.ok().body(Map.of("message", "Message deleted successfully"));
     }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+    }
+
+    // --- ARCHIVE (applications / messages older than the retention window) ---
+
+    @GetMapping("/archive/{archive}")
+    public List<String> getArchivedMonths(@PathVariable String archive) {
+        return archiveService.listArchivedMonths(archive);
+    }
+
+    @GetMapping("/archive/{archive}/{month}")
+    public List<Map<String, Object>> searchArchive(
+            @PathVariable String archive,
+            @PathVariable String month,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "100") int limit) {
+        return archiveService.searchArchive(archive, month, q, Math.min(limit, 1000));
+    }
+
+    // --- REQUEST TIMING (rolling per-endpoint phase breakdown, see Server-Timing headers) ---
+
+    @GetMapping("/timing")
+    public List<EndpointTimingDto> getRequestTimings() {
+        return timingStats.summary();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.sunrobotics.controller;
 
 import com.sunrobotics.dto.ApplicationRequestDto;
+import com.sunrobotics.journal.DurableSubmitter;
 import com.sunrobotics.service.ApplicationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +17,10 @@ public class ApplicationController {
     @PostMapping("/apply")
     public ResponseEntity<?> applyForJob(@Valid @RequestBody ApplicationRequestDto request) {
         // The GlobalExceptionHandler will catch the RuntimeException automatically
-        applicationService.submitApplication(request);
+        if (applicationService.submitApplication(request) == DurableSubmitter.Outcome.JOURNALED) {
+            // Kept on this server and written to the database as soon as it is reachable
+            return ResponseEntity.accepted().body("{\"message\": \"Application received and will be processed shortly\"}");
+        }
         return ResponseEntity.ok().body("{\"message\": \"Application submitted successfully\"}");
     }
 }
\ No newline at end of file
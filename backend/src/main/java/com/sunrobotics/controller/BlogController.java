@@ -1,43 +1,75 @@
 package com.sunrobotics.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sunrobotics.config.JsonArrayStreamer;
+import com.sunrobotics.dto.BlogDetailDto;
+import com.sunrobotics.dto.BlogResponseDto;
+import com.sunrobotics.dto.BlogSummaryDto;
+import com.sunrobotics.dto.TrendingBlogDto;
 import com.sunrobotics.model.Blog;
 import com.sunrobotics.service.BlogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 public class BlogController {
 
+    private static final int MAX_TRENDING = 20;
+
     @Autowired
     private BlogService blogService;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
     // --- Public Endpoints ---
 
     @GetMapping("/api/blogs")
-    public List<Blog> getAllBlogs() {
-        return blogService.getAllBlogs();
+    public ResponseEntity<StreamingResponseBody> getAllBlogs() {
+        return jsonArrayStreamer.stream(blogService::streamAllBlogs, BlogSummaryDto::from, BlogSummaryDto.class);
+    }
+
+    // The literal path wins over /api/blogs/{id}
+    @GetMapping("/api/blogs/trending")
+    public List<TrendingBlogDto> getTrendingBlogs(@RequestParam(defaultValue = "5") int limit) {
+        return blogService.getTrendingBlogs(Math.max(1, Math.min(limit, MAX_TRENDING)));
     }
 
+    // Serves the HTML rendered when the post was saved; nothing is rendered on this path.
+    // Counts a view (in memory, see BlogViewCounter)
     @GetMapping("/api/blogs/{id}")
-    public ResponseEntity<Blog> getBlogById(@PathVariable Long id) {
-        return blogService.getBlogById(id)
+    public ResponseEntity<BlogDetailDto> getBlogById(@PathVariable Long id) {
+        return blogService.viewBlog(id)
+                .map(blog -> BlogDetailDto.from(blog, blogService.viewCount(blog)))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // --- Admin Endpoints (Secured by /api/admin/** pattern) ---
 
+    // Full posts with Markdown source and version, for the editor
+    @GetMapping("/api/admin/blogs")
+    public ResponseEntity<StreamingResponseBody> getAllBlogsForAdmin() {
+        return jsonArrayStreamer.stream(blogService::streamAllBlogs, BlogResponseDto::from, BlogResponseDto.class);
+    }
+
     @PostMapping("/api/admin/blogs")
-    public Blog createBlog(@RequestBody Blog blog) {
-        return blogService.createBlog(blog);
+    public BlogResponseDto createBlog(@RequestBody Blog blog) {
+        return BlogResponseDto.from(blogService.createBlog(blog));
     }
 
     @PutMapping("/api/admin/blogs/{id}")
-    public ResponseEntity<Blog> updateBlog(@PathVariable Long id, @RequestBody Blog blog) {
-        return ResponseEntity.ok(blogService.updateBlog(id, blog));
+    public ResponseEntity<BlogResponseDto> updateBlog(@PathVariable Long id, @RequestBody Blog blog) {
+        return ResponseEntity.ok(BlogResponseDto.from(blogService.updateBlog(id, blog)));
+    }
+
+    @PatchMapping(value = "/api/admin/blogs/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<BlogResponseDto> patchBlog(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(BlogResponseDto.from(blogService.patchBlog(id, patch)));
     }
 
     @DeleteMapping("/api/admin/blogs/{id}")
@@ -45,4 +77,4 @@ public class BlogController {
         blogService.deleteBlog(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+}
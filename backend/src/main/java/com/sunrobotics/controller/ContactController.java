@@ -1,6 +1,7 @@
 package com.sunrobotics.controller;
 
 import com.sunrobotics.dto.ContactMessageDto;
+import com.sunrobotics.journal.DurableSubmitter;
 import com.sunrobotics.service.ContactService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +16,9 @@ public class ContactController {
 
     @PostMapping
     public ResponseEntity<?> sendMessage(@Valid @RequestBody ContactMessageDto request) {
-        contactService.saveMessage(request);
+        if (contactService.saveMessage(request) == DurableSubmitter.Outcome.JOURNALED) {
+            return ResponseEntity.accepted().body("{\"message\": \"Message received and will be processed shortly\"}");
+        }
         return ResponseEntity.ok().body("{\"message\": \"Message sent successfully\"}");
     }
 }
\ No newline at end of file
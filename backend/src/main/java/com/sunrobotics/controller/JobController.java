@@ -1,6 +1,7 @@
 package com.sunrobotics.controller;
 
-import com.sunrobotics.model.Job;
+import com.sunrobotics.dto.JobResponseDto;
+import com.sunrobotics.dto.JobSearchResultDto;
 import com.sunrobotics.service.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -14,15 +15,22 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    // Active jobs, optionally filtered (repeat a parameter to match any of its values),
+    // with per-department/location/type counts for the filter controls
     @GetMapping
-    public List<Job> getAllJobs() {
-        return jobService.getAllActiveJobs();
+    public JobSearchResultDto getAllJobs(
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) List<String> location,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) String q) {
+        return jobService.searchActiveJobs(department, location, type, q);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Job> getJobById(@PathVariable Long id) {
+    public ResponseEntity<JobResponseDto> getJobById(@PathVariable Long id) {
         return jobService.getJobById(id)
+                .map(JobResponseDto::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+}
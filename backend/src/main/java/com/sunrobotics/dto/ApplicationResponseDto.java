@@ -0,0 +1,23 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Application;
+
+import java.time.LocalDateTime;
+
+public record ApplicationResponseDto(
+        Long id,
+        JobSummaryDto job,
+        String fullName,
+        String email,
+        String phone,
+        String resumeUrl,
+        String coverLetter,
+        String status,
+        LocalDateTime appliedAt) {
+
+    public static ApplicationResponseDto from(Application app) {
+        return new ApplicationResponseDto(app.getId(), JobSummaryDto.from(app.getJob()), app.getFullName(),
+                app.getEmail(), app.getPhone(), app.getResumeUrl(), app.getCoverLetter(), app.getStatus(),
+                app.getAppliedAt());
+    }
+}
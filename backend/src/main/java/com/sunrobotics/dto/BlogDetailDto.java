@@ -0,0 +1,31 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Blog;
+import com.sunrobotics.model.BlogHeading;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A single post as the blog page shows it: sanitized HTML and toc instead of the Markdown source
+public record BlogDetailDto(
+        Long id,
+        String title,
+        String excerpt,
+        String contentHtml,
+        List<BlogHeading> toc,
+        Integer wordCount,
+        String category,
+        String author,
+        String imageUrl,
+        String readTime,
+        long viewCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public static BlogDetailDto from(Blog blog, long viewCount) {
+        return new BlogDetailDto(blog.getId(), blog.getTitle(), blog.getExcerpt(), blog.getContentHtml(),
+                blog.getToc(), blog.getWordCount(), blog.getCategory(), blog.getAuthor(), blog.getImageUrl(),
+                blog.getReadTime(), viewCount, blog.getCreatedAt(), blog.getUpdatedAt(), blog.getVersion());
+    }
+}
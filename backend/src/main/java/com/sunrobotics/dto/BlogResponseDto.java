@@ -0,0 +1,25 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Blog;
+
+import java.time.LocalDateTime;
+
+public record BlogResponseDto(
+        Long id,
+        String title,
+        String excerpt,
+        String content,
+        String category,
+        String author,
+        String imageUrl,
+        String readTime,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public static BlogResponseDto from(Blog blog) {
+        return new BlogResponseDto(blog.getId(), blog.getTitle(), blog.getExcerpt(), blog.getContent(),
+                blog.getCategory(), blog.getAuthor(), blog.getImageUrl(), blog.getReadTime(),
+                blog.getCreatedAt(), blog.getUpdatedAt(), blog.getVersion());
+    }
+}
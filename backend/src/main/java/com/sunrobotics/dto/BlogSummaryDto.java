@@ -0,0 +1,23 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Blog;
+
+import java.time.LocalDateTime;
+
+// A post as the public blog list shows it: card fields only, no Markdown source or version
+public record BlogSummaryDto(
+        Long id,
+        String title,
+        String excerpt,
+        String category,
+        String author,
+        String imageUrl,
+        String readTime,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static BlogSummaryDto from(Blog blog) {
+        return new BlogSummaryDto(blog.getId(), blog.getTitle(), blog.getExcerpt(), blog.getCategory(),
+                blog.getAuthor(), blog.getImageUrl(), blog.getReadTime(), blog.getCreatedAt(), blog.getUpdatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.ContactMessage;
+
+import java.time.LocalDateTime;
+
+public record ContactMessageResponseDto(
+        Long id,
+        String name,
+        String email,
+        String company,
+        String phone,
+        String subject,
+        String message,
+        boolean read,
+        LocalDateTime createdAt) {
+
+    public static ContactMessageResponseDto from(ContactMessage msg) {
+        return new ContactMessageResponseDto(msg.getId(), msg.getName(), msg.getEmail(), msg.getCompany(),
+                msg.getPhone(), msg.getSubject(), msg.getMessage(), msg.isRead(), msg.getCreatedAt());
+    }
+}
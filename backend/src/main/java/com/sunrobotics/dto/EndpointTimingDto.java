@@ -0,0 +1,13 @@
+package com.sunrobotics.dto;
+
+import java.util.Map;
+
+// One endpoint's request timings over the rolling window; phase averages are in milliseconds
+public record EndpointTimingDto(
+        String endpoint,
+        long requests,
+        double avgTotalMs,
+        double maxTotalMs,
+        double avgStatements,
+        Map<String, Double> avgPhaseMs) {
+}
@@ -0,0 +1,26 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record JobResponseDto(
+        Long id,
+        String title,
+        String department,
+        String location,
+        String type,
+        String description,
+        String requirements,
+        List<String> requirementItems,
+        boolean active,
+        LocalDateTime createdAt,
+        Long version) {
+
+    public static JobResponseDto from(Job job) {
+        return new JobResponseDto(job.getId(), job.getTitle(), job.getDepartment(), job.getLocation(),
+                job.getType(), job.getDescription(), job.getRequirements(), job.getRequirementItems(), job.isActive(),
+                job.getCreatedAt(), job.getVersion());
+    }
+}
@@ -0,0 +1,11 @@
+package com.sunrobotics.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Public job search: matching jobs plus, per facet (department, location, type), jobs per value
+public record JobSearchResultDto(
+        List<JobResponseDto> jobs,
+        int total,
+        Map<String, Map<String, Integer>> facets) {
+}
@@ -0,0 +1,11 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Job;
+
+// The few job fields shown next to an application
+public record JobSummaryDto(Long id, String title, String department, String location) {
+
+    public static JobSummaryDto from(Job job) {
+        return new JobSummaryDto(job.getId(), job.getTitle(), job.getDepartment(), job.getLocation());
+    }
+}
@@ -0,0 +1,13 @@
+package com.sunrobotics.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An application as accepted from the candidate: id and time are fixed here so a retried or
+// replayed insert (see SubmissionJournal) can be recognised as the same one
+public record PendingApplication(UUID submissionId, LocalDateTime appliedAt, ApplicationRequestDto request) {
+
+    public static PendingApplication of(ApplicationRequestDto request) {
+        return new PendingApplication(UUID.randomUUID(), LocalDateTime.now(), request);
+    }
+}
@@ -0,0 +1,12 @@
+package com.sunrobotics.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A contact message as accepted from the visitor; see PendingApplication
+public record PendingContactMessage(UUID submissionId, LocalDateTime createdAt, ContactMessageDto message) {
+
+    public static PendingContactMessage of(ContactMessageDto message) {
+        return new PendingContactMessage(UUID.randomUUID(), LocalDateTime.now(), message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sunrobotics.dto;
+
+import com.sunrobotics.model.Blog;
+
+import java.time.LocalDateTime;
+
+// A card in the trending list; score is views weighted by recency (halves every half-life)
+public record TrendingBlogDto(
+        Long id,
+        String title,
+        String excerpt,
+        String category,
+        String author,
+        String imageUrl,
+        String readTime,
+        LocalDateTime createdAt,
+        long viewCount,
+        double score) {
+
+    public static TrendingBlogDto from(Blog blog, long viewCount, double score) {
+        return new TrendingBlogDto(blog.getId(), blog.getTitle(), blog.getExcerpt(), blog.getCategory(),
+                blog.getAuthor(), blog.getImageUrl(), blog.getReadTime(), blog.getCreatedAt(), viewCount,
+                Math.round(score * 100) / 100.0);
+    }
+}
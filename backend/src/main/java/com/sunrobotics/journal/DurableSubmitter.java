@@ -0,0 +1,127 @@
+package com.sunrobotics.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves a public submission (application, contact message) to the database, or to the local
+ * {@link SubmissionJournal} when the database is unreachable or does not answer within
+ * sunrobotics.journal.write-timeout-ms (e.g. while Neon is waking up). Journaled submissions
+ * are written later by JournalReplayer, so the caller can answer 202 instead of losing them.
+ * <p>
+ * Errors that are not about availability (job not found, constraint violations) are rethrown
+ * and still reach the client.
+ */
+@Component
+public class DurableSubmitter {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableSubmitter.class);
+
+    public enum Outcome {SAVED, JOURNALED}
+
+    @Autowired
+    private SubmissionJournal journal;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long writeTimeoutMs;
+
+    // Writes run here so a request stops waiting after the timeout; a full queue means the DB is stuck
+    private final ExecutorService writers;
+
+    public DurableSubmitter(@Value("${sunrobotics.journal.write-timeout-ms:3000}") long writeTimeoutMs,
+                            @Value("${sunrobotics.journal.writer-threads:8}") int writerThreads) {
+        this.writeTimeoutMs = writeTimeoutMs;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(writerThreads * 4), r -> {
+                    Thread thread = new Thread(r, "submission-writer-" + threadNo.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Runs write, which must be idempotent for this submission (the journaled copy may be
+     * replayed even though a timed-out write went through after all).
+     */
+    public Outcome submit(byte type, Object submission, Runnable write) {
+        Future<?> result;
+        try {
+            result = writers.submit(write);
+        } catch (RejectedExecutionException e) {
+            return journal(type, submission, "all database writers are busy");
+        }
+        try {
+            result.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+            return Outcome.SAVED;
+        } catch (TimeoutException e) {
+            // Left running: if it still commits, the replay finds the row and skips it
+            return journal(type, submission, "no answer within " + writeTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return journal(type, submission, "interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (isUnavailable(cause)) {
+                return journal(type, submission, cause.getMessage());
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private Outcome journal(byte type, Object submission, String reason) {
+        try {
+            long seq = journal.append(type, objectMapper.writeValueAsBytes(submission));
+            log.warn("Database unavailable ({}), submission journaled as #{}", reason, seq);
+            return Outcome.JOURNALED;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Could not journal submission after database failure ({})", reason, e);
+            throw new RuntimeException("Your submission could not be saved right now. Please try again in a few minutes.");
+        }
+    }
+
+    // Connection refused/lost, pool timeout, Postgres starting up or shutting down: worth retrying later
+    static boolean isUnavailable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException || t instanceof CannotCreateTransactionException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof SQLTransientException || t instanceof SQLRecoverableException) {
+                return true;
+            }
+            // 08xxx connection exceptions, 57P01-57P03 admin shutdown / cannot connect now
+            if (t instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("08") || sql.getSQLState().startsWith("57P0"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+}
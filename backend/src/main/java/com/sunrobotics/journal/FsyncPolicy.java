@@ -0,0 +1,15 @@
+package com.sunrobotics.journal;
+
+/**
+ * When {@link SubmissionJournal} forces appended records to disk. Records are written to a
+ * memory-mapped file, so a killed process never loses them (they are already in the page cache);
+ * the policy only decides what survives a power loss or kernel crash.
+ */
+public enum FsyncPolicy {
+    // Forced before append() returns: nothing acknowledged with a 202 is lost
+    ALWAYS,
+    // Forced every sunrobotics.journal.fsync-interval-ms: up to one interval of submissions can be lost
+    INTERVAL,
+    // Left to the OS writeback (typically ~30 s)
+    NEVER
+}
@@ -0,0 +1,5 @@
+package com.sunrobotics.journal;
+
+// One submission as stored in the journal; seq is gapless and increasing across segments
+public record JournalRecord(long seq, byte type, byte[] payload) {
+}
@@ -0,0 +1,127 @@
+package com.sunrobotics.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sunrobotics.dto.PendingApplication;
+import com.sunrobotics.dto.PendingContactMessage;
+import com.sunrobotics.service.ApplicationService;
+import com.sunrobotics.service.ContactService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes journaled submissions to the database, oldest first. Stops at the first record that
+ * fails because the database is still unavailable and retries from there on the next run, so
+ * submissions land in the order they were accepted. A record that can never be written (its job
+ * was deleted, the payload can't be read, its bytes fail their checksum) has already been
+ * acknowledged with 202, so it is
+ * appended to the dead-letter file (one JSON line per record, with the error) in the journal
+ * directory and skipped; if even that fails, replay stops there and tries again next run.
+ */
+@Component
+public class JournalReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayer.class);
+
+    private static final int BATCH = 100;
+    static final String DEAD_LETTERS = "dead-letter.ndjson";
+
+    @Autowired
+    private SubmissionJournal journal;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Value("${sunrobotics.journal.dir:./journal}")
+    private Path journalDir;
+
+    @Scheduled(fixedDelayString = "${sunrobotics.journal.replay-ms:10000}")
+    public synchronized void replay() {
+        List<JournalRecord> batch;
+        while (!(batch = journal.readAfter(journal.replayedUpTo(), BATCH)).isEmpty()) {
+            long done = journal.replayedUpTo();
+            try {
+                for (JournalRecord record : batch) {
+                    if (!write(record)) {
+                        log.info("Database still unavailable, {} journaled submissions waiting", journal.pending());
+                        return;
+                    }
+                    done = record.seq();
+                }
+            } finally {
+                journal.markReplayed(done);
+            }
+            log.info("Replayed journaled submissions up to #{}", done);
+        }
+    }
+
+    // false = database (or dead-letter file) unavailable, try again later
+    private boolean write(JournalRecord record) {
+        if (record.type() == SubmissionJournal.CORRUPT) {
+            return deadLetter(record, new IOException("Journal bytes up to #" + record.seq() + " fail their checksum"));
+        }
+        try {
+            switch (record.type()) {
+                case SubmissionJournal.APPLICATION ->
+                        applicationService.saveApplication(objectMapper.readValue(record.payload(), PendingApplication.class));
+                case SubmissionJournal.CONTACT_MESSAGE ->
+                        contactService.insertMessage(objectMapper.readValue(record.payload(), PendingContactMessage.class));
+                default -> throw new IllegalStateException("Unknown journal record type " + record.type());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            if (DurableSubmitter.isUnavailable(e)) {
+                return false;
+            }
+            return deadLetter(record, e);
+        } catch (IOException e) {
+            return deadLetter(record, e);
+        }
+    }
+
+    private boolean deadLetter(JournalRecord record, Exception error) {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("seq", record.seq())
+                .put("type", record.type())
+                .put("failedAt", LocalDateTime.now().toString())
+                .put("error", String.valueOf(error.getMessage()));
+        if (record.type() == SubmissionJournal.CORRUPT) {
+            // Damaged record bytes, headers included; base64 keeps them exact for recovery by hand
+            line.put("raw", Base64.getEncoder().encodeToString(record.payload()));
+        } else {
+            // Kept as text: an unreadable payload may not be valid JSON
+            line.put("payload", new String(record.payload(), StandardCharsets.UTF_8));
+        }
+        try (FileChannel out = FileChannel.open(journalDir.resolve(DEAD_LETTERS),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            out.write(ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        } catch (IOException e) {
+            log.error("Could not dead-letter journaled submission #{}, keeping it in the journal", record.seq(), e);
+            return false;
+        }
+        log.error("Journaled submission #{} cannot be saved ({}), moved to {}", record.seq(), error.getMessage(),
+                journalDir.resolve(DEAD_LETTERS));
+        return true;
+    }
+}
@@ -0,0 +1,423 @@
+package com.sunrobotics.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Local append-only journal for public submissions the database could not take (see
+ * DurableSubmitter). Records go into memory-mapped segment files under sunrobotics.journal.dir:
+ * <pre>
+ *   segment: magic (4) | unused (4) | first seq (8) | record | record | ... | zeros
+ *   record:  length (4) | crc32c (4) | seq (8) | type (1) | payload (length - 9)
+ * </pre>
+ * The length is written last and the CRC covers seq, type and payload, so a record cut short by
+ * a crash reads as the end of the journal and is discarded (zeroed) when the journal is opened.
+ * A record damaged in the middle of a segment (an intact record with a later seq follows it) is
+ * kept and handed to the replayer as {@link #CORRUPT}, with its raw bytes, for the dead-letter file.
+ * When a record is forced to disk is set by {@link FsyncPolicy}; interval forcing runs on a thread
+ * owned by the journal, so no other scheduled job can hold it up.
+ * <p>
+ * JournalReplayer reads records in seq order and reports progress with {@link #markReplayed};
+ * the last replayed seq is kept in a small checkpoint file and fully replayed segments are
+ * deleted. The checkpoint is written after the rows are inserted, so after a crash a few records
+ * can be replayed twice; the inserts are idempotent (submission_id), which makes that harmless.
+ */
+@Component
+public class SubmissionJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionJournal.class);
+
+    public static final byte APPLICATION = 1;
+    public static final byte CONTACT_MESSAGE = 2;
+    // Returned by readAfter for bytes that fail their checksum; payload holds them raw, seq is the last one they cover
+    public static final byte CORRUPT = 0;
+
+    private static final int MAGIC = 0x534a524e; // "SJRN"
+    private static final int SEGMENT_HEADER = 16;
+    private static final int RECORD_HEADER = 8; // length + crc
+    private static final int RECORD_FIXED = 9; // seq + type, counted in length
+    private static final int MIN_RECORD = RECORD_HEADER + RECORD_FIXED;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT = "replayed";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final FsyncPolicy fsync;
+
+    // Only with FsyncPolicy.INTERVAL
+    private final ScheduledExecutorService forcer;
+
+    // Oldest first; appends go to the last one
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextSeq;
+    private long replayed;
+    private boolean unforced;
+
+    private static final class Segment {
+        final Path path;
+        final long baseSeq;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int end = SEGMENT_HEADER;
+        long lastSeq;
+
+        Segment(Path path, long baseSeq, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseSeq = baseSeq;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastSeq = baseSeq - 1;
+        }
+    }
+
+    public SubmissionJournal(@Value("${sunrobotics.journal.dir:./journal}") Path dir,
+                             @Value("${sunrobotics.journal.segment-bytes:8388608}") int segmentBytes,
+                             @Value("${sunrobotics.journal.fsync:always}") FsyncPolicy fsync,
+                             @Value("${sunrobotics.journal.fsync-interval-ms:1000}") long fsyncIntervalMs) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open submission journal in " + dir.toAbsolutePath(), e);
+        }
+        if (fsync == FsyncPolicy.INTERVAL) {
+            forcer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            forcer.scheduleWithFixedDelay(this::forceIfNeeded, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            forcer = null;
+        }
+    }
+
+    // --- writing ---
+
+    /**
+     * Appends one record and returns its seq. Once this returns the record survives the process
+     * being killed, and with {@link FsyncPolicy#ALWAYS} also a power loss.
+     */
+    public synchronized long append(byte type, byte[] payload) {
+        int length = RECORD_FIXED + payload.length;
+        int size = RECORD_HEADER + length;
+        if (SEGMENT_HEADER + size > segmentBytes) {
+            throw new IllegalArgumentException("Submission of " + payload.length + " bytes is too large for the journal");
+        }
+        try {
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            // Each segment holds a gapless run of seqs (recovery stops at a gap)
+            if (segment == null || segment.lastSeq != nextSeq - 1 || segment.end + size > segment.buffer.capacity()) {
+                if (segment != null && fsync != FsyncPolicy.NEVER) {
+                    segment.buffer.force();
+                }
+                segment = createSegment(nextSeq);
+            }
+
+            long seq = nextSeq;
+            int pos = segment.end;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putLong(pos + RECORD_HEADER, seq);
+            buffer.put(pos + RECORD_HEADER + 8, type);
+            buffer.put(pos + RECORD_HEADER + RECORD_FIXED, payload);
+            buffer.putInt(pos + 4, crc(buffer, pos + RECORD_HEADER, length));
+            buffer.putInt(pos, length);
+
+            if (fsync == FsyncPolicy.ALWAYS) {
+                buffer.force(pos, size);
+            } else {
+                unforced = true;
+            }
+            segment.end += size;
+            segment.lastSeq = seq;
+            nextSeq++;
+            return seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to submission journal", e);
+        }
+    }
+
+    synchronized void forceIfNeeded() {
+        if (fsync == FsyncPolicy.INTERVAL && unforced && !segments.isEmpty()) {
+            try {
+                segments.get(segments.size() - 1).buffer.force();
+                unforced = false;
+            } catch (UncheckedIOException e) {
+                // Thrown out of a scheduled task it would stop every later run; retried next interval
+                log.error("Could not force the submission journal to disk", e);
+            }
+        }
+    }
+
+    // Appended since the last force (INTERVAL and NEVER)
+    synchronized boolean hasUnforced() {
+        return unforced;
+    }
+
+    // --- replay ---
+
+    // Up to max records with a seq above afterSeq, in seq order
+    public synchronized List<JournalRecord> readAfter(long afterSeq, int max) {
+        List<JournalRecord> records = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.lastSeq <= afterSeq) {
+                continue;
+            }
+            int pos = SEGMENT_HEADER;
+            long expected = segment.baseSeq;
+            while (pos < segment.end && records.size() < max) {
+                JournalRecord record = readAt(segment.buffer, pos);
+                int next;
+                if (record != null && record.seq() == expected) {
+                    next = pos + MIN_RECORD + record.payload().length;
+                } else {
+                    // Damaged after it was written: everything up to the next intact record goes out as one CORRUPT record
+                    next = nextIntact(segment.buffer, pos, segment.end, expected);
+                    long lastLost = next < segment.end ? segment.buffer.getLong(next + RECORD_HEADER) - 1 : segment.lastSeq;
+                    byte[] raw = new byte[next - pos];
+                    segment.buffer.get(pos, raw);
+                    record = new JournalRecord(lastLost, CORRUPT, raw);
+                }
+                if (record.seq() > afterSeq) {
+                    records.add(record);
+                }
+                expected = record.seq() + 1;
+                pos = next;
+            }
+            if (records.size() >= max) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    public synchronized long replayedUpTo() {
+        return replayed;
+    }
+
+    public synchronized long pending() {
+        return nextSeq - 1 - replayed;
+    }
+
+    // Everything up to seq is in the database; segments holding only such records are deleted
+    public synchronized void markReplayed(long seq) {
+        if (seq <= replayed) {
+            return;
+        }
+        try {
+            writeCheckpoint(seq);
+            replayed = seq;
+            while (segments.size() > 1 && segments.get(0).lastSeq <= replayed) {
+                Segment done = segments.remove(0);
+                done.channel.close();
+                Files.deleteIfExists(done.path);
+            }
+        } catch (IOException e) {
+            // Not fatal: the records are replayed again later and skipped as duplicates
+            log.warn("Could not record journal replay progress: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (forcer != null) {
+            forcer.shutdownNow();
+        }
+        for (Segment segment : segments) {
+            try {
+                if (fsync != FsyncPolicy.NEVER) {
+                    segment.buffer.force();
+                }
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+        segments.clear();
+    }
+
+    // --- recovery ---
+
+    private void open() throws IOException {
+        Files.createDirectories(dir);
+        Path checkpoint = dir.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            replayed = Long.parseLong(Files.readString(checkpoint, StandardCharsets.US_ASCII).trim());
+        }
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        long lastSeq = replayed;
+        for (Path file : files) {
+            Segment segment = openSegment(file);
+            if (segment != null) {
+                segments.add(segment);
+                lastSeq = Math.max(lastSeq, segment.lastSeq);
+            }
+        }
+        nextSeq = lastSeq + 1;
+        if (pending() > 0) {
+            log.info("Submission journal has {} records waiting to be replayed", pending());
+        }
+    }
+
+    private Segment openSegment(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long baseSeq = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        FileChannel channel = FileChannel.open(file, READ, WRITE);
+        if (channel.size() < SEGMENT_HEADER) {
+            // Crashed while creating it; nothing was ever appended
+            channel.close();
+            Files.delete(file);
+            return null;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.getInt(0) != MAGIC || buffer.getLong(8) != baseSeq) {
+            channel.close();
+            Path aside = file.resolveSibling(name + ".corrupt");
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            log.error("Journal segment {} has an invalid header, moved to {}", file, aside);
+            return null;
+        }
+
+        Segment segment = new Segment(file, baseSeq, channel, buffer);
+        int pos = SEGMENT_HEADER;
+        while (true) {
+            JournalRecord record = readAt(buffer, pos);
+            if (record != null && record.seq() == segment.lastSeq + 1) {
+                segment.lastSeq = record.seq();
+                pos += MIN_RECORD + record.payload().length;
+                continue;
+            }
+            if (pos + 4 > buffer.capacity() || buffer.getInt(pos) == 0) {
+                break;
+            }
+            int next = nextIntact(buffer, pos, buffer.capacity(), segment.lastSeq + 1);
+            if (next == buffer.capacity()) {
+                break; // nothing intact follows: a torn tail, cleared below
+            }
+            long resumeSeq = buffer.getLong(next + RECORD_HEADER);
+            if (resumeSeq - 1 > replayed) {
+                log.error("Journal records #{} to #{} in {} fail their checksum, they go to the dead-letter file on replay",
+                        segment.lastSeq + 1, resumeSeq - 1, file);
+            }
+            segment.lastSeq = resumeSeq - 1;
+            pos = next;
+        }
+        segment.end = pos;
+
+        if (pos + 4 <= buffer.capacity() && buffer.getInt(pos) != 0) {
+            // A record that was being written when the process died; clear it so later appends start clean
+            log.warn("Discarding incomplete journal record after seq {} in {}", segment.lastSeq, file);
+            for (int i = pos; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        return segment;
+    }
+
+    private Segment createSegment(long baseSeq) throws IOException {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && last.baseSeq == baseSeq) {
+            // Empty and too small for this record (segment-bytes was raised since it was created)
+            segments.remove(last);
+            last.channel.close();
+            Files.delete(last.path);
+        }
+        Path file = dir.resolve(String.format("%020d%s", baseSeq, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(8, baseSeq);
+        if (fsync != FsyncPolicy.NEVER) {
+            buffer.force(0, SEGMENT_HEADER);
+            forceDirectory();
+        }
+        Segment segment = new Segment(file, baseSeq, channel, buffer);
+        segments.add(segment);
+        return segment;
+    }
+
+    // Written to a temp file and renamed, so the checkpoint is always either the old or the new value
+    private void writeCheckpoint(long seq) throws IOException {
+        Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(tmp, dir.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Makes a new segment's directory entry durable (not supported on every platform)
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    /*
+     * Where records continue after damaged bytes at from: the first intact record whose seq follows
+     * expected by no more than the skipped bytes can hold (the CRC plus that bound rule out payload
+     * bytes that merely look like a record). end when there is none.
+     */
+    private static int nextIntact(ByteBuffer buffer, int from, int end, long expected) {
+        for (int pos = from + 1; pos + MIN_RECORD <= end; pos++) {
+            JournalRecord record = readAt(buffer, pos);
+            if (record != null && record.seq() > expected && record.seq() <= expected + (pos - from) / MIN_RECORD) {
+                return pos;
+            }
+        }
+        return end;
+    }
+
+    // null when there is no complete, intact record at pos
+    private static JournalRecord readAt(ByteBuffer buffer, int pos) {
+        if (pos + RECORD_HEADER > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(pos);
+        if (length < RECORD_FIXED || length > buffer.capacity() - pos - RECORD_HEADER) {
+            return null;
+        }
+        int body = pos + RECORD_HEADER;
+        if (buffer.getInt(pos + 4) != crc(buffer, body, length)) {
+            return null;
+        }
+        byte[] payload = new byte[length - RECORD_FIXED];
+        buffer.get(body + RECORD_FIXED, payload);
+        return new JournalRecord(buffer.getLong(body), buffer.get(body + 8), payload);
+    }
+
+    private static int crc(ByteBuffer buffer, int from, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+}
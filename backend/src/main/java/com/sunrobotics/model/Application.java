@@ -3,6 +3,7 @@ package com.sunrobotics.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Entity
@@ -26,6 +27,10 @@ public class Application {
 
     private String status = "NEW"; // NEW, REVIEWING, REJECTED
 
+    // Set when the submission is accepted; makes journal replays idempotent
+    @Column(name = "submission_id", updatable = false)
+    private UUID submissionId;
+
     @Column(name = "applied_at", updatable = false)
     private LocalDateTime appliedAt = LocalDateTime.now();
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.sunrobotics.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate // UPDATE only the columns that actually changed
 @Table(name = "blogs")
 public class Blog {
     @Id
@@ -20,18 +28,46 @@ public class Blog {
     @Column(columnDefinition = "TEXT")
     private String content; // Support for HTML or Markdown
 
+    // Rendered from content on every save (BlogContentRenderer); never taken from a request body
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_html", columnDefinition = "TEXT")
+    private String contentHtml;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<BlogHeading> toc;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "word_count")
+    private Integer wordCount;
+
     private String category;
     private String author;
 
     @Column(name = "image_url")
     private String imageUrl;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     @Column(name = "read_time")
-    private String readTime; // e.g., "5 min read"
+    private String readTime; // e.g., "5 min read", computed from wordCount
+
+    // Written only by BlogViewCounter's batched flush, never by an entity save
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(name = "view_count", nullable = false, updatable = false)
+    private Long viewCount = 0L;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Optimistic lock: bumped on every update, stale writes are rejected.
+    // Null until persisted, so Spring Data sees a new entity and calls persist() rather than merge()
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
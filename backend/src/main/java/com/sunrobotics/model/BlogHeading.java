@@ -0,0 +1,5 @@
+package com.sunrobotics.model;
+
+// One table-of-contents entry of a blog post; id is the anchor set on the rendered heading
+public record BlogHeading(int level, String id, String text) {
+}
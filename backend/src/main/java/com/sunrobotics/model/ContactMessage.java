@@ -3,6 +3,7 @@ package com.sunrobotics.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Entity
@@ -23,6 +24,10 @@ public class ContactMessage {
 
     private boolean isRead = false;
 
+    // Set when the submission is accepted; makes journal replays idempotent
+    @Column(name = "submission_id", updatable = false)
+    private UUID submissionId;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 }
\ No newline at end of file
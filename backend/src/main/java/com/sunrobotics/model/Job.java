@@ -1,11 +1,19 @@
 package com.sunrobotics.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate // UPDATE only the columns that actually changed
 @Table(name = "jobs")
 public class Job {
     @Id
@@ -23,8 +31,21 @@ public class Job {
     @Column(columnDefinition = "TEXT")
     private String requirements; // JSON string or text bullet points
 
+    // Parsed from requirements on every save (JobRequirementsParser); never taken from a request body
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "requirement_items", columnDefinition = "jsonb")
+    private List<String> requirementItems;
+
     private boolean isActive = true;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Optimistic lock: bumped on every update, stale writes are rejected.
+    // Null until persisted, so Spring Data sees a new entity and calls persist() rather than merge()
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
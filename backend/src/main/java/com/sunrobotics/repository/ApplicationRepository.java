@@ -1,7 +1,63 @@
 package com.sunrobotics.repository;
 
 import com.sunrobotics.model.Application;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
+
+    // Substring (ILIKE) or fuzzy (<% word similarity) match; both are served by the idx_applications_*_trgm indexes
+    String SEARCH_WHERE = """
+             WHERE (a.full_name ILIKE :pattern OR a.email ILIKE :pattern OR a.phone ILIKE :pattern
+                    OR :term <% a.full_name OR :term <% a.email)
+               AND (CAST(:status AS text) IS NULL OR a.status = CAST(:status AS text))
+               AND a.applied_at >= :from AND a.applied_at < :to
+            """;
+
+    // Bounded on the partition key so Postgres only scans the recent monthly partitions.
+    // Joins the job in the same query instead of one select per distinct job.
+    @EntityGraph(attributePaths = "job")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<Application> streamByAppliedAtGreaterThanEqual(LocalDateTime since, Sort sort);
+
+    @EntityGraph(attributePaths = "job")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<Application> streamByStatusAndAppliedAtGreaterThanEqual(String status, LocalDateTime since, Sort sort);
+
+    // Exact substring hits first, then by how closely the term matches a word in the name or email
+    @Query(value = "SELECT a.* FROM applications a" + SEARCH_WHERE + """
+            ORDER BY CASE WHEN a.full_name ILIKE :pattern OR a.email ILIKE :pattern OR a.phone ILIKE :pattern
+                          THEN 1 ELSE 0 END
+                     + greatest(word_similarity(:term, a.full_name), word_similarity(:term, a.email)) DESC,
+                     a.applied_at DESC
+            """,
+            countQuery = "SELECT count(*) FROM applications a" + SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Application> search(String term, String pattern, String status,
+                             LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Inserts a public submission once; a second insert with the same submission id is a no-op (returns 0)
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO applications (job_id, full_name, email, phone, resume_url, cover_letter, status, applied_at, submission_id)
+            VALUES (:jobId, :fullName, :email, :phone, :resumeUrl, :coverLetter, 'NEW', :appliedAt, :submissionId)
+            ON CONFLICT (submission_id, applied_at) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(Long jobId, String fullName, String email, String phone, String resumeUrl,
+                       String coverLetter, LocalDateTime appliedAt, UUID submissionId);
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.sunrobotics.repository;
 
 import com.sunrobotics.model.Blog;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
-    List<Blog> findAllByOrderByCreatedAtDesc();
+    // Streams must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<Blog> streamAllByOrderByCreatedAtDesc();
+
+    List<Blog> findByContentHtmlIsNull();
 }
\ No newline at end of file
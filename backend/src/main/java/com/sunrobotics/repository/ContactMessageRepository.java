@@ -1,7 +1,59 @@
 package com.sunrobotics.repository;
 
 import com.sunrobotics.model.ContactMessage;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ContactMessageRepository extends JpaRepository<ContactMessage, Long> {
+
+    // Substring (ILIKE) or fuzzy (<% word similarity) match; both are served by the idx_contact_messages_*_trgm indexes
+    String SEARCH_WHERE = """
+             WHERE (m.name ILIKE :pattern OR m.email ILIKE :pattern OR m.phone ILIKE :pattern
+                    OR m.company ILIKE :pattern OR m.subject ILIKE :pattern
+                    OR :term <% m.name OR :term <% m.company OR :term <% m.subject)
+               AND (CAST(:read AS boolean) IS NULL OR m.is_read = CAST(:read AS boolean))
+               AND m.created_at >= :from AND m.created_at < :to
+            """;
+
+    // Bounded on the partition key so Postgres only scans the recent monthly partitions
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<ContactMessage> streamByCreatedAtGreaterThanEqual(LocalDateTime since, Sort sort);
+
+    // Exact substring hits first, then by how closely the term matches a word in name, company or subject
+    @Query(value = "SELECT m.* FROM contact_messages m" + SEARCH_WHERE + """
+            ORDER BY CASE WHEN m.name ILIKE :pattern OR m.email ILIKE :pattern OR m.phone ILIKE :pattern
+                               OR m.company ILIKE :pattern OR m.subject ILIKE :pattern
+                          THEN 1 ELSE 0 END
+                     + greatest(word_similarity(:term, m.name), word_similarity(:term, m.company),
+                                word_similarity(:term, m.subject)) DESC,
+                     m.created_at DESC
+            """,
+            countQuery = "SELECT count(*) FROM contact_messages m" + SEARCH_WHERE,
+            nativeQuery = true)
+    Page<ContactMessage> search(String term, String pattern, Boolean read,
+                                LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Inserts a public submission once; a second insert with the same submission id is a no-op (returns 0)
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO contact_messages (name, email, company, phone, subject, message, is_read, created_at, submission_id)
+            VALUES (:name, :email, :company, :phone, :subject, :message, false, :createdAt, :submissionId)
+            ON CONFLICT (submission_id, created_at) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String name, String email, String company, String phone, String subject,
+                       String message, LocalDateTime createdAt, UUID submissionId);
 }
\ No newline at end of file
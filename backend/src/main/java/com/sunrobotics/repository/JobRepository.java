@@ -1,9 +1,21 @@
 package com.sunrobotics.repository;
 
 import com.sunrobotics.model.Job;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
-    List<Job> findByIsActiveTrue();
+    // Streams must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<Job> streamByIsActiveTrue();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    Stream<Job> streamAllBy();
+
+    List<Job> findByRequirementItemsIsNull();
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.sunrobotics.security;
 
+import com.sunrobotics.timing.Phase;
+import com.sunrobotics.timing.RequestTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
+        long start = System.nanoTime();
         String authHeader = request.getHeader("Authorization");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -45,6 +48,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        RequestTiming.record(Phase.AUTH, System.nanoTime() - start);
         chain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -1,14 +1,20 @@
 package com.sunrobotics.service;
 
 import com.sunrobotics.dto.ApplicationRequestDto;
+import com.sunrobotics.dto.PendingApplication;
+import com.sunrobotics.journal.DurableSubmitter;
+import com.sunrobotics.journal.SubmissionJournal;
 import com.sunrobotics.model.Application;
-import com.sunrobotics.model.Job;
 import com.sunrobotics.repository.ApplicationRepository;
 import com.sunrobotics.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import java.util.List;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationService {
@@ -18,26 +24,47 @@ public class ApplicationService {
     @Autowired
     private JobRepository jobRepository;
 
-    public Application submitApplication(ApplicationRequestDto dto) {
-        Job job = jobRepository.findById(dto.getJobId())
-                .orElseThrow(() -> new RuntimeException("Job not found with ID: " + dto.getJobId()));
+    @Autowired
+    private ArchiveService archiveService;
 
-        Application app = new Application();
-        app.setJob(job);
-        app.setFullName(dto.getFullName());
-        app.setEmail(dto.getEmail());
-        app.setPhone(dto.getPhone());
-        app.setResumeUrl(dto.getResumeUrl());
-        app.setCoverLetter(dto.getCoverLetter());
+    @Autowired
+    private DurableSubmitter durableSubmitter;
 
-        return applicationRepository.save(app);
+    // Saved right away, or journaled (202) while the database is unreachable
+    public DurableSubmitter.Outcome submitApplication(ApplicationRequestDto dto) {
+        PendingApplication pending = PendingApplication.of(dto);
+        return durableSubmitter.submit(SubmissionJournal.APPLICATION, pending, () -> saveApplication(pending));
+    }
+
+    // Also called by JournalReplayer; inserting the same submission twice leaves one row
+    public void saveApplication(PendingApplication pending) {
+        ApplicationRequestDto dto = pending.request();
+        if (!jobRepository.existsById(dto.getJobId())) {
+            throw new RuntimeException("Job not found with ID: " + dto.getJobId());
+        }
+        applicationRepository.insertIfAbsent(dto.getJobId(), dto.getFullName(), dto.getEmail(), dto.getPhone(),
+                dto.getResumeUrl(), dto.getCoverLetter(), pending.appliedAt(), pending.submissionId());
     }
 
     // --- ADMIN METHODS ---
 
-    public List<Application> getAllApplications() {
-        // Returns applications sorted by newest first
-        return applicationRepository.findAll(Sort.by(Sort.Direction.DESC, "appliedAt"));
+    public Stream<Application> streamAllApplications(String status) {
+        // Returns applications sorted by newest first; older months live in the archive
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "appliedAt");
+        if (status != null && !status.isBlank()) {
+            return applicationRepository.streamByStatusAndAppliedAtGreaterThanEqual(
+                    status, archiveService.hotWindowStart(), newestFirst);
+        }
+        return applicationRepository.streamByAppliedAtGreaterThanEqual(archiveService.hotWindowStart(), newestFirst);
+    }
+
+    // Ranked substring/fuzzy search over name, email and phone. Dates are inclusive;
+    // without "from" it covers the same hot window as the list.
+    public Page<Application> searchApplications(String q, String status, LocalDate from, LocalDate to, Pageable pageable) {
+        String term = SearchSupport.requireTerm(q);
+        return applicationRepository.search(term, SearchSupport.containsPattern(term),
+                status == null || status.isBlank() ? null : status,
+                SearchSupport.startOf(from, archiveService.hotWindowStart()), SearchSupport.endOf(to), pageable);
     }
 
     public Application updateApplicationStatus(Long id, String status) {
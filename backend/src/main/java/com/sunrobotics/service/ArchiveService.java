@@ -0,0 +1,243 @@
+package com.sunrobotics.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves monthly partitions older than the retention window out of the database into
+ * gzip'd NDJSON files ({@code <dir>/<table>/<yyyy-MM>.ndjson.gz}), then drops the partition.
+ * Old rows that ended up in the DEFAULT partition (no monthly partition existed for them) are
+ * exported to the same files and deleted. Everything newer than {@link #hotWindowStart()} stays
+ * in the database.
+ * <p>
+ * Each export is written to a temporary file next to the archive and only moved over it once
+ * the DROP or DELETE has committed, so a failed run leaves the archive as it was and the rows
+ * in the table, ready for the next run.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+    private static final DateTimeFormatter FILE_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // Public archive names -> partitioned tables
+    private static final Map<String, String> ARCHIVES = Map.of(
+            "applications", "applications",
+            "messages", "contact_messages");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sunrobotics.archive.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${sunrobotics.archive.dir:./archive}")
+    private String archiveDir;
+
+    // Oldest timestamp still kept in the database; hot queries filter on it so old partitions are pruned
+    public LocalDateTime hotWindowStart() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    @Scheduled(cron = "${sunrobotics.archive.cron:0 30 3 * * *}")
+    public void archiveExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.from(hotWindowStart());
+        for (String table : PartitionMaintenanceService.PARTITIONED_TABLES) {
+            for (Map.Entry<YearMonth, String> partition : monthlyPartitions(table).entrySet()) {
+                if (partition.getKey().isBefore(oldestKept)) {
+                    archivePartition(table, partition.getKey(), partition.getValue());
+                }
+            }
+            archiveDefaultPartition(table, oldestKept);
+        }
+    }
+
+    private void archivePartition(String table, YearMonth month, String partition) {
+        Path target = archiveFile(table, month);
+        Long rows = new TransactionTemplate(transactionManager).execute(status -> {
+            long count = exportRows("SELECT row_to_json(t)::text FROM " + partition + " t ORDER BY id", List.of(), target, false);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return count;
+        });
+        log.info("Archived {} rows from {} to {}", rows, partition, target);
+    }
+
+    // Rows older than the hot window in <table>_default, e.g. written before their month's partition was created
+    private void archiveDefaultPartition(String table, YearMonth oldestKept) {
+        String partition = table + "_default";
+        String key = PartitionMaintenanceService.PARTITION_KEYS.get(table);
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition) != Boolean.TRUE) {
+            return;
+        }
+        List<LocalDateTime> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', " + key + ") FROM " + partition + " WHERE " + key + " < ? ORDER BY 1",
+                LocalDateTime.class, oldestKept.atDay(1).atStartOfDay());
+        for (LocalDateTime start : months) {
+            YearMonth month = YearMonth.from(start);
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+            Path target = archiveFile(table, month);
+            String range = " WHERE " + key + " >= ? AND " + key + " < ?";
+            // Added to the month's file (if the partition was archived already), which only changes if the DELETE commits
+            Long rows = new TransactionTemplate(transactionManager).execute(status -> {
+                long count = exportRows("SELECT row_to_json(t)::text FROM " + partition + " t" + range + " ORDER BY id",
+                        List.of(start, end), target, true);
+                jdbcTemplate.update("DELETE FROM " + partition + range, start, end);
+                return count;
+            });
+            log.warn("Archived {} rows of {} from {} to {}; that month had no partition", rows, month, partition, target);
+        }
+    }
+
+    // append: keep the file's existing rows and add a second gzip member (GZIPInputStream reads both).
+    // Must run inside the transaction that removes the rows; the file replaces target when it commits.
+    private long exportRows(String select, List<Object> args, Path target, boolean append) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+            if (append && Files.exists(target)) {
+                Files.copy(target, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            replaceAfterCommit(tmp, target);
+            long[] count = {0};
+            try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)), StandardCharsets.UTF_8)) {
+                jdbcTemplate.query(con -> {
+                    var ps = con.prepareStatement(select);
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i));
+                    }
+                    ps.setFetchSize(500); // stream rows instead of loading the whole month
+                    return ps;
+                }, rs -> {
+                    try {
+                        out.write(rs.getString(1));
+                        out.write('\n');
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive " + target, e);
+        }
+    }
+
+    // Rolled back: the rows are still in the table, so the export is thrown away
+    private void replaceAfterCommit(Path tmp, Path target) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } else {
+                        Files.deleteIfExists(tmp);
+                    }
+                } catch (IOException e) {
+                    // Committed: the rows are gone from the database and only in tmp now
+                    log.error("Could not move archive {} to {}; the rows are only in that file, move it by hand",
+                            tmp, target, e);
+                }
+            }
+        });
+    }
+
+    // partition name -> month, e.g. applications_p2024_01
+    private SortedMap<YearMonth, String> monthlyPartitions(String table) {
+        Pattern name = Pattern.compile("^" + table + "_p(\\d{4})_(\\d{2})$");
+        SortedMap<YearMonth, String> partitions = new TreeMap<>();
+        jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                String.class, table).forEach(relname -> {
+            Matcher m = name.matcher(relname);
+            if (m.matches()) {
+                partitions.put(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))), relname);
+            }
+        });
+        return partitions;
+    }
+
+    // --- ARCHIVE QUERIES (admin) ---
+
+    public List<String> listArchivedMonths(String archive) {
+        Path dir = Paths.get(archiveDir, tableFor(archive));
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(f -> f.endsWith(".ndjson.gz"))
+                    .map(f -> f.substring(0, f.length() - ".ndjson.gz".length()))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Case-insensitive substring match over the raw JSON line; cheap enough for a month of rows
+    public List<Map<String, Object>> searchArchive(String archive, String month, String query, int limit) {
+        Path file = archiveFile(tableFor(archive), YearMonth.parse(month, FILE_MONTH));
+        if (!Files.exists(file)) {
+            throw new RuntimeException("No archive for " + archive + " in " + month);
+        }
+        String needle = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while (rows.size() < limit && (line = in.readLine()) != null) {
+                if (needle.isEmpty() || line.toLowerCase(Locale.ROOT).contains(needle)) {
+                    rows.add(objectMapper.readValue(line, new TypeReference<LinkedHashMap<String, Object>>() {}));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private String tableFor(String archive) {
+        String table = ARCHIVES.get(archive);
+        if (table == null) {
+            throw new RuntimeException("Unknown archive: " + archive);
+        }
+        return table;
+    }
+
+    private Path archiveFile(String table, YearMonth month) {
+        return Paths.get(archiveDir, table, month.format(FILE_MONTH) + ".ndjson.gz");
+    }
+}
@@ -0,0 +1,114 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.model.BlogHeading;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns a blog's source (Markdown, HTML, or a mix of both) into what the post page shows:
+ * sanitized HTML with an anchor id on every heading, a table of contents, and the word count
+ * and read time. Runs once when a blog is saved, so reads only serve the stored result.
+ */
+@Component
+public class BlogContentRenderer {
+
+    static final int WORDS_PER_MINUTE = 200;
+
+    // Base for parsing only; relative links in posts are kept as written
+    private static final String BASE_URI = "http://localhost/";
+
+    private final Parser parser;
+    private final HtmlRenderer htmlRenderer;
+    private final Cleaner cleaner;
+
+    public BlogContentRenderer() {
+        List<Extension> extensions = List.of(TablesExtension.create());
+        this.parser = Parser.builder().extensions(extensions).build();
+        // Raw HTML in the source is passed through here and sanitized below
+        this.htmlRenderer = HtmlRenderer.builder().extensions(extensions).build();
+        this.cleaner = new Cleaner(Safelist.relaxed()
+                .addAttributes("code", "class") // language-xxx from fenced code blocks
+                .addAttributes("a", "rel")
+                .preserveRelativeLinks(true));
+    }
+
+    public record Rendered(String html, List<BlogHeading> toc, int wordCount, String readTime) {
+    }
+
+    public Rendered render(String source) {
+        if (source == null || source.isBlank()) {
+            return new Rendered("", List.of(), 0, readTime(0));
+        }
+        String unsafeHtml = htmlRenderer.render(parser.parse(source));
+        Document doc = cleaner.clean(Jsoup.parseBodyFragment(unsafeHtml, BASE_URI));
+        doc.outputSettings().prettyPrint(false);
+
+        List<BlogHeading> toc = new ArrayList<>();
+        Set<String> usedIds = new HashSet<>();
+        for (Element heading : doc.body().select("h1, h2, h3, h4, h5, h6")) {
+            String text = heading.text();
+            String id = uniqueId(slug(text), usedIds);
+            heading.id(id);
+            toc.add(new BlogHeading(heading.tagName().charAt(1) - '0', id, text));
+        }
+
+        int words = countWords(doc.body().text());
+        return new Rendered(doc.body().html(), toc, words, readTime(words));
+    }
+
+    static String readTime(int words) {
+        int minutes = Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return minutes + " min read";
+    }
+
+    static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean letter = Character.isLetterOrDigit(text.charAt(i));
+            if (letter && !inWord) {
+                words++;
+            }
+            inWord = letter || (inWord && (text.charAt(i) == '\'' || text.charAt(i) == '-'));
+        }
+        return words;
+    }
+
+    // "Why ROS 2?" -> "why-ros-2"
+    static String slug(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '-') {
+                sb.append('-');
+            }
+        }
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) == '-') {
+            sb.setLength(sb.length() - 1);
+        }
+        return sb.length() == 0 ? "section" : sb.toString();
+    }
+
+    private static String uniqueId(String slug, Set<String> usedIds) {
+        String id = slug;
+        for (int n = 1; !usedIds.add(id); n++) {
+            id = slug + "-" + n;
+        }
+        return id;
+    }
+}
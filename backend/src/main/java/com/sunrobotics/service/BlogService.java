@@ -1,38 +1,86 @@
 package com.sunrobotics.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sunrobotics.dto.TrendingBlogDto;
 import com.sunrobotics.model.Blog;
 import com.sunrobotics.repository.BlogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BlogService {
     @Autowired
     private BlogRepository blogRepository;
 
-    public List<Blog> getAllBlogs() {
-        return blogRepository.findAllByOrderByCreatedAtDesc();
+    @Autowired
+    private JsonMergePatcher mergePatcher;
+
+    @Autowired
+    private BlogContentRenderer contentRenderer;
+
+    @Autowired
+    private BlogViewCounter viewCounter;
+
+    // Consume inside a transaction
+    public Stream<Blog> streamAllBlogs() {
+        return blogRepository.streamAllByOrderByCreatedAtDesc();
     }
 
     public Optional<Blog> getBlogById(Long id) {
         return blogRepository.findById(id);
     }
 
+    // A reader opening the post: counted in memory, written to view_count by the next flush
+    public Optional<Blog> viewBlog(Long id) {
+        Optional<Blog> blog = blogRepository.findById(id);
+        blog.ifPresent(b -> viewCounter.record(b.getId()));
+        return blog;
+    }
+
+    // Stored count plus the views this instance has not flushed yet
+    public long viewCount(Blog blog) {
+        return blog.getViewCount() + viewCounter.unflushed(blog.getId());
+    }
+
+    // Top posts by decayed view score, best first; posts deleted since are skipped
+    public List<TrendingBlogDto> getTrendingBlogs(int limit) {
+        List<BlogViewCounter.TrendingEntry> entries = viewCounter.trending(limit);
+        Map<Long, Blog> blogs = blogRepository.findAllById(entries.stream().map(BlogViewCounter.TrendingEntry::blogId).toList())
+                .stream().collect(Collectors.toMap(Blog::getId, b -> b));
+        return entries.stream()
+                .filter(e -> blogs.containsKey(e.blogId()))
+                .map(e -> {
+                    Blog blog = blogs.get(e.blogId());
+                    return TrendingBlogDto.from(blog, viewCount(blog), e.score());
+                })
+                .toList();
+    }
+
     public Blog createBlog(Blog blog) {
+        blog.setId(null); // always an insert, whatever the body says
+        blog.setVersion(null);
         if (blog.getCreatedAt() == null) {
             blog.setCreatedAt(LocalDateTime.now());
         }
         blog.setUpdatedAt(LocalDateTime.now());
+        renderContent(blog);
         return blogRepository.save(blog);
     }
 
     public Blog updateBlog(Long id, Blog blogDetails) {
         Blog blog = blogRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
+        mergePatcher.checkVersion(blogDetails.getVersion(), blog.getVersion(), Blog.class, id);
 
         blog.setTitle(blogDetails.getTitle());
         blog.setExcerpt(blogDetails.getExcerpt());
@@ -40,13 +88,44 @@ public class BlogService {
         blog.setCategory(blogDetails.getCategory());
         blog.setAuthor(blogDetails.getAuthor());
         blog.setImageUrl(blogDetails.getImageUrl());
-        blog.setReadTime(blogDetails.getReadTime());
         blog.setUpdatedAt(LocalDateTime.now());
+        renderContent(blog);
 
         return blogRepository.save(blog);
     }
 
+    // Partial update: the entity stays managed, so only the patched columns are flushed
+    @Transactional
+    public Blog patchBlog(Long id, JsonNode patch) {
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
+
+        mergePatcher.checkVersion(patch, blog.getVersion(), Blog.class, id);
+        mergePatcher.apply(blog, patch);
+        blog.setUpdatedAt(LocalDateTime.now());
+        if (patch.has("content")) {
+            renderContent(blog);
+        }
+        return blog;
+    }
+
     public void deleteBlog(Long id) {
         blogRepository.deleteById(id);
     }
+
+    // Posts saved before content was rendered on write (or imported straight into the table)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void renderMissingContent() {
+        blogRepository.findByContentHtmlIsNull().forEach(this::renderContent);
+    }
+
+    // Render once here so reads serve the stored HTML, toc and read time as-is
+    private void renderContent(Blog blog) {
+        BlogContentRenderer.Rendered rendered = contentRenderer.render(blog.getContent());
+        blog.setContentHtml(rendered.html());
+        blog.setToc(rendered.toc());
+        blog.setWordCount(rendered.wordCount());
+        blog.setReadTime(rendered.readTime());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.sunrobotics.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts blog views in memory and writes them to blogs.view_count in batches, so reading a post
+ * never takes a row lock. A view is one {@link LongAdder#increment()} (striped, no contention
+ * between request threads); every {@code sunrobotics.blogs.view-flush-ms} the deltas of all posts
+ * go out as a single UPDATE.
+ * <p>
+ * The same flush feeds the trending scores: each post's score decays exponentially with a half-life
+ * of {@code sunrobotics.blogs.trending-half-life-minutes} and grows by one per view.
+ * <p>
+ * Flushes run on a thread of their own rather than Spring's shared scheduler, where they would
+ * wait behind a journal replay, an index rebuild or a nightly archive run. Loss on a crash is
+ * therefore bounded: views counted since the last successful flush (one flush interval plus the
+ * duration of that flush's UPDATE, 5 s by default) are lost. While the database is unreachable the deltas are kept and retried,
+ * so an outage widens that window to its own length. A normal shutdown flushes first. Trending
+ * scores are memory-only and rebuild from new views after a restart.
+ */
+@Component
+public class BlogViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogViewCounter.class);
+
+    // Scores below this are dropped from the trending table
+    private static final double MIN_SCORE = 0.01;
+    static final int TRENDING_SIZE = 50;
+
+    // ids arrive sorted, so flushes from several instances lock rows in the same order
+    private static final String FLUSH_SQL = """
+            UPDATE blogs b SET view_count = b.view_count + v.delta
+            FROM unnest(?::bigint[], ?::bigint[]) AS v(id, delta)
+            WHERE b.id = v.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final double decayPerMilli;
+    private final long flushMs;
+
+    // Flush thread, created on start so tests can drive flush() by hand
+    private ScheduledExecutorService flusher;
+
+    // Hot path: request threads only touch these adders
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Taken but not yet written (database unreachable); changed by the flush thread only, read by
+    // unflushed(). Sorted, see FLUSH_SQL.
+    private final Map<Long, Long> unwritten = new ConcurrentSkipListMap<>();
+
+    // Flush thread only (flush() is synchronized)
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long scoresAt = System.currentTimeMillis();
+
+    // Latest top posts, replaced as a whole after every flush
+    private volatile Trending trending = new Trending(List.of(), scoresAt);
+
+    public BlogViewCounter(@Value("${sunrobotics.blogs.trending-half-life-minutes:360}") long halfLifeMinutes,
+                           @Value("${sunrobotics.blogs.view-flush-ms:5000}") long flushMs) {
+        this.decayPerMilli = Math.log(2) / (Math.max(1, halfLifeMinutes) * 60_000.0);
+        this.flushMs = flushMs;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "blog-view-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    // A normal shutdown writes what was counted since the last run
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        flush();
+    }
+
+    public record TrendingEntry(Long blogId, double score) {
+    }
+
+    private record Trending(List<TrendingEntry> top, long at) {
+    }
+
+    private static final class Counter {
+        final LongAdder views = new LongAdder();
+        volatile long flushed; // written by the flush thread only
+    }
+
+    public void record(Long blogId) {
+        counters.computeIfAbsent(blogId, id -> new Counter()).views.increment();
+    }
+
+    // Views counted on this instance but not yet written, to add to the stored count
+    public long unflushed(Long blogId) {
+        Counter counter = counters.get(blogId);
+        long untaken = counter == null ? 0 : counter.views.sum() - counter.flushed;
+        return untaken + unwritten.getOrDefault(blogId, 0L);
+    }
+
+    // Highest scores first, decayed to now
+    public List<TrendingEntry> trending(int limit) {
+        return trending(limit, System.currentTimeMillis());
+    }
+
+    List<TrendingEntry> trending(int limit, long now) {
+        Trending current = trending;
+        double decay = Math.exp(-decayPerMilli * Math.max(0, now - current.at()));
+        return current.top().stream()
+                .limit(limit)
+                .map(e -> new TrendingEntry(e.blogId(), e.score() * decay))
+                .toList();
+    }
+
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    // An exception would cancel every later run of a scheduled task
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Blog view flush failed", e);
+        }
+    }
+
+    synchronized void flush(long now) {
+        // sum() minus what was already taken: nothing is reset, so concurrent increments are never lost
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((id, counter) -> {
+            long total = counter.views.sum();
+            long delta = total - counter.flushed;
+            if (delta > 0) {
+                // Into unwritten before flushed moves, so unflushed() may briefly count it twice but never misses it
+                unwritten.merge(id, delta, Long::sum);
+                counter.flushed = total;
+                deltas.put(id, delta);
+            }
+        });
+
+        updateScores(deltas, now);
+
+        if (unwritten.isEmpty()) {
+            return;
+        }
+        try {
+            writeDeltas(unwritten);
+            unwritten.clear();
+        } catch (DataAccessException e) {
+            log.warn("Could not flush views for {} blogs, retrying next run: {}", unwritten.size(), e.getMessage());
+        }
+    }
+
+    // One statement for the whole batch, however many posts were read
+    void writeDeltas(Map<Long, Long> deltas) {
+        Long[] ids = deltas.keySet().toArray(new Long[0]);
+        Long[] counts = deltas.values().toArray(new Long[0]);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(FLUSH_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", counts));
+            return ps;
+        });
+    }
+
+    private void updateScores(Map<Long, Long> deltas, long now) {
+        double decay = Math.exp(-decayPerMilli * Math.max(0, now - scoresAt));
+        scoresAt = now;
+        scores.replaceAll((id, score) -> score * decay);
+        deltas.forEach((id, delta) -> scores.merge(id, (double) delta, Double::sum));
+        scores.values().removeIf(score -> score < MIN_SCORE);
+
+        List<TrendingEntry> top = scores.entrySet().stream()
+                .map(e -> new TrendingEntry(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingDouble(TrendingEntry::score).reversed())
+                .limit(TRENDING_SIZE)
+                .toList();
+        trending = new Trending(top, now);
+    }
+}
@@ -1,33 +1,58 @@
 package com.sunrobotics.service;
 
 import com.sunrobotics.dto.ContactMessageDto;
+import com.sunrobotics.dto.PendingContactMessage;
+import com.sunrobotics.journal.DurableSubmitter;
+import com.sunrobotics.journal.SubmissionJournal;
 import com.sunrobotics.model.ContactMessage;
 import com.sunrobotics.repository.ContactMessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import java.util.List;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 @Service
 public class ContactService {
     @Autowired
     private ContactMessageRepository repository;
 
-    public ContactMessage saveMessage(ContactMessageDto dto) {
-        ContactMessage msg = new ContactMessage();
-        msg.setName(dto.getName());
-        msg.setEmail(dto.getEmail());
-        msg.setCompany(dto.getCompany());
-        msg.setPhone(dto.getPhone());
-        msg.setSubject(dto.getSubject());
-        msg.setMessage(dto.getMessage());
-        return repository.save(msg);
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private DurableSubmitter durableSubmitter;
+
+    // Saved right away, or journaled (202) while the database is unreachable
+    public DurableSubmitter.Outcome saveMessage(ContactMessageDto dto) {
+        PendingContactMessage pending = PendingContactMessage.of(dto);
+        return durableSubmitter.submit(SubmissionJournal.CONTACT_MESSAGE, pending, () -> insertMessage(pending));
+    }
+
+    // Also called by JournalReplayer; inserting the same submission twice leaves one row
+    public void insertMessage(PendingContactMessage pending) {
+        ContactMessageDto dto = pending.message();
+        repository.insertIfAbsent(dto.getName(), dto.getEmail(), dto.getCompany(), dto.getPhone(),
+                dto.getSubject(), dto.getMessage(), pending.createdAt(), pending.submissionId());
     }
 
     // --- ADMIN METHODS ---
 
-    public List<ContactMessage> getAllMessages() {
-        return repository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    public Stream<ContactMessage> streamAllMessages() {
+        // Older months live in the archive
+        return repository.streamByCreatedAtGreaterThanEqual(
+                archiveService.hotWindowStart(), Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    // Ranked substring/fuzzy search over name, email, phone, company and subject. Dates are inclusive;
+    // without "from" it covers the same hot window as the list.
+    public Page<ContactMessage> searchMessages(String q, Boolean read, LocalDate from, LocalDate to, Pageable pageable) {
+        String term = SearchSupport.requireTerm(q);
+        return repository.search(term, SearchSupport.containsPattern(term), read,
+                SearchSupport.startOf(from, archiveService.hotWindowStart()), SearchSupport.endOf(to), pageable);
     }
 
     public ContactMessage markAsRead(Long id) {
@@ -0,0 +1,350 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.dto.JobResponseDto;
+import com.sunrobotics.dto.JobSearchResultDto;
+import com.sunrobotics.model.Job;
+import com.sunrobotics.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index over the active jobs behind the public careers page. Every active job
+ * gets a slot; each department, location, type and search token maps to a BitSet of slots, so a
+ * filter is a few ANDs and a facet count is one cardinality() per value.
+ * <p>
+ * JobService reports every save and delete, and only that job's bits are rewritten (after the
+ * transaction commits). A full rebuild runs at startup and every few minutes, which also picks up
+ * changes made by other instances; changes committed here while it reads its snapshot are
+ * re-applied after the swap, so the older snapshot cannot undo them.
+ * <p>
+ * Facet values match case-insensitively ("remote" finds "Remote"); counts show each value as
+ * it was first indexed.
+ */
+@Component
+public class JobFacetIndex {
+
+    static final String DEPARTMENT = "department";
+    static final String LOCATION = "location";
+    static final String TYPE = "type";
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slot -> job; null marks a free slot
+    private final List<JobResponseDto> jobs = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    private final Facet byDepartment = new Facet();
+    private final Facet byLocation = new Facet();
+    private final Facet byType = new Facet();
+    // Sorted, so a query word can match every token it is a prefix of ("robot" -> "robotics")
+    private final NavigableMap<String, BitSet> byToken = new TreeMap<>();
+
+    // id -> job as last saved here (null = deleted) while a rebuild runs; null when none is running
+    private Map<Long, JobResponseDto> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Scheduled(fixedDelayString = "${sunrobotics.jobs.index-rebuild-ms:300000}",
+            initialDelayString = "${sunrobotics.jobs.index-rebuild-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<JobResponseDto> active;
+        try (Stream<Job> rows = jobRepository.streamByIsActiveTrue()) {
+            active = rows.map(JobResponseDto::from).toList();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            jobs.clear();
+            slotById.clear();
+            freeSlots.clear();
+            live.clear();
+            byDepartment.clear();
+            byLocation.clear();
+            byType.clear();
+            byToken.clear();
+            active.forEach(this::put);
+            // The snapshot may predate these, so they win over it
+            changedDuringRebuild.forEach(this::replace);
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called by JobService after a job is created or changed; inactive jobs leave the index
+    public void saved(Job job) {
+        afterCommit(() -> {
+            JobResponseDto dto = JobResponseDto.from(job);
+            changed(dto.id(), dto);
+        });
+    }
+
+    public void deleted(Long id) {
+        afterCommit(() -> changed(id, null));
+    }
+
+    private void changed(Long id, JobResponseDto job) {
+        lock.writeLock().lock();
+        try {
+            replace(id, job);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, job);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active jobs matching every given filter, newest first. Several values for one facet match
+     * any of them. Each facet is counted with the other facets' filters applied (not its own),
+     * so the page can show how many jobs each alternative value would give.
+     */
+    public JobSearchResultDto search(Collection<String> departments, Collection<String> locations,
+                                     Collection<String> types, String q) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) live.clone();
+            for (String word : tokenize(q)) {
+                base.and(prefixMatches(word));
+            }
+            BitSet department = byDepartment.union(departments);
+            BitSet location = byLocation.union(locations);
+            BitSet type = byType.union(types);
+
+            BitSet matches = and(base, department, location, type);
+            List<JobResponseDto> result = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                result.add(jobs.get(slot));
+            }
+            result.sort(Comparator.comparing(JobResponseDto::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put(DEPARTMENT, byDepartment.counts(and(base, location, type)));
+            facets.put(LOCATION, byLocation.counts(and(base, department, type)));
+            facets.put(TYPE, byType.counts(and(base, department, location)));
+            return new JobSearchResultDto(result, result.size(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- index maintenance (write lock held) ---
+
+    // null or inactive = leave the index
+    private void replace(Long id, JobResponseDto job) {
+        remove(id);
+        if (job != null && job.active()) {
+            put(job);
+        }
+    }
+
+    private void put(JobResponseDto job) {
+        Integer free = freeSlots.poll();
+        int slot = free != null ? free : jobs.size();
+        if (free != null) {
+            jobs.set(slot, job);
+        } else {
+            jobs.add(job);
+        }
+        slotById.put(job.id(), slot);
+        live.set(slot);
+        forEachFacetValue(job, (facet, value) -> facet.add(value, slot));
+        tokens(job).forEach(token -> byToken.computeIfAbsent(token, k -> new BitSet()).set(slot));
+    }
+
+    private void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        JobResponseDto job = jobs.get(slot);
+        forEachFacetValue(job, (facet, value) -> facet.remove(value, slot));
+        for (String token : tokens(job)) {
+            BitSet bits = byToken.get(token);
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                byToken.remove(token);
+            }
+        }
+        live.clear(slot);
+        jobs.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    private void forEachFacetValue(JobResponseDto job, BiConsumer<Facet, String> visitor) {
+        if (job.department() != null && !job.department().isBlank()) {
+            visitor.accept(byDepartment, job.department());
+        }
+        if (job.location() != null && !job.location().isBlank()) {
+            visitor.accept(byLocation, job.location());
+        }
+        if (job.type() != null && !job.type().isBlank()) {
+            visitor.accept(byType, job.type());
+        }
+    }
+
+    private static Set<String> tokens(JobResponseDto job) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(job.title()));
+        tokens.addAll(tokenize(job.department()));
+        tokens.addAll(tokenize(job.location()));
+        tokens.addAll(tokenize(job.type()));
+        tokens.addAll(tokenize(job.description()));
+        if (job.requirementItems() != null) {
+            job.requirementItems().forEach(item -> tokens.addAll(tokenize(item)));
+        }
+        return tokens;
+    }
+
+    /** Postings of one facet, keyed by the trimmed, lower-cased value. */
+    private static final class Facet {
+        private final Map<String, BitSet> postings = new HashMap<>();
+        // key -> value as first indexed, for the counts
+        private final Map<String, String> labels = new HashMap<>();
+
+        void add(String value, int slot) {
+            String key = key(value);
+            postings.computeIfAbsent(key, k -> new BitSet()).set(slot);
+            labels.putIfAbsent(key, value.trim());
+        }
+
+        void remove(String value, int slot) {
+            String key = key(value);
+            BitSet bits = postings.get(key);
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+                labels.remove(key);
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            labels.clear();
+        }
+
+        // null = facet not filtered
+        BitSet union(Collection<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet bits = new BitSet();
+            for (String value : values) {
+                BitSet match = postings.get(key(value));
+                if (match != null) {
+                    bits.or(match);
+                }
+            }
+            return bits;
+        }
+
+        // Values with at least one job, most jobs first
+        Map<String, Integer> counts(BitSet within) {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+            BitSet scratch = new BitSet();
+            postings.forEach((key, bits) -> {
+                scratch.clear();
+                scratch.or(bits);
+                scratch.and(within);
+                int count = scratch.cardinality();
+                if (count > 0) {
+                    entries.add(Map.entry(labels.get(key), count));
+                }
+            });
+            entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            entries.forEach(e -> counts.put(e.getKey(), e.getValue()));
+            return counts;
+        }
+
+        private static String key(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // --- query helpers (read lock held) ---
+
+    private BitSet prefixMatches(String word) {
+        BitSet bits = new BitSet();
+        for (BitSet postings : byToken.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+            bits.or(postings);
+        }
+        return bits;
+    }
+
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet bits = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                bits.and(filter);
+            }
+        }
+        return bits;
+    }
+
+    // Lower-cased letter/digit runs; "C++" and "ROS 2" still give "c" and "ros", "2"
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Outside a transaction (plain repository save) the change is already committed
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
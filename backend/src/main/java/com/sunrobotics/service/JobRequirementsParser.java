@@ -0,0 +1,60 @@
+package com.sunrobotics.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits a job's free-text requirements into a list of items. Admins have entered them as a
+ * JSON array ("[\"ROS\", \"C++\"]"), as bullet or numbered lines, or as one comma-separated line.
+ */
+@Component
+public class JobRequirementsParser {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public List<String> parse(String requirements) {
+        if (requirements == null || requirements.isBlank()) {
+            return List.of();
+        }
+        String text = requirements.trim();
+        Set<String> items = new LinkedHashSet<>();
+
+        if (text.startsWith("[")) {
+            try {
+                JsonNode array = objectMapper.readTree(text);
+                if (array.isArray()) {
+                    array.forEach(item -> add(items, item.asText()));
+                    return new ArrayList<>(items);
+                }
+            } catch (IOException e) {
+                // Not JSON after all, fall through to plain text
+            }
+        }
+
+        String[] lines = text.split("\\R");
+        if (lines.length == 1) {
+            lines = text.split("[,;]");
+        }
+        for (String line : lines) {
+            add(items, line);
+        }
+        return new ArrayList<>(items);
+    }
+
+    // Drops bullet markers ("-", "*", "•", "1.", "2)") and surrounding whitespace
+    private static void add(Set<String> items, String raw) {
+        String item = raw.strip().replaceFirst("^([-*•·]|\\d+[.)])\\s*", "").strip();
+        if (!item.isEmpty()) {
+            items.add(item);
+        }
+    }
+}
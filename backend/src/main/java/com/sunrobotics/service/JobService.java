@@ -1,20 +1,38 @@
 package com.sunrobotics.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sunrobotics.dto.JobSearchResultDto;
 import com.sunrobotics.model.Job;
 import com.sunrobotics.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class JobService {
     @Autowired
     private JobRepository jobRepository;
 
-    // Public: Get only active jobs
-    public List<Job> getAllActiveJobs() {
-        return jobRepository.findByIsActiveTrue();
+    @Autowired
+    private JsonMergePatcher mergePatcher;
+
+    @Autowired
+    private JobRequirementsParser requirementsParser;
+
+    @Autowired
+    private JobFacetIndex facetIndex;
+
+    // Public: filter active jobs by facet values and search words, served from the in-memory index
+    public JobSearchResultDto searchActiveJobs(List<String> departments, List<String> locations,
+                                               List<String> types, String q) {
+        return facetIndex.search(departments, locations, types, q);
     }
 
     public Optional<Job> getJobById(Long id) {
@@ -24,17 +42,23 @@ public class JobService {
     // --- ADMIN METHODS ---
 
     // Get ALL jobs (Active & Inactive)
-    public List<Job> getAllJobsForAdmin() {
-        return jobRepository.findAll();
+    public Stream<Job> streamAllJobsForAdmin() {
+        return jobRepository.streamAllBy();
     }
 
     public Job createJob(Job job) {
-        return jobRepository.save(job);
+        job.setId(null); // always an insert, whatever the body says
+        job.setVersion(null);
+        job.setRequirementItems(requirementsParser.parse(job.getRequirements()));
+        Job saved = jobRepository.save(job);
+        facetIndex.saved(saved);
+        return saved;
     }
 
     public Job updateJob(Long id, Job jobDetails) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found with id: " + id));
+        mergePatcher.checkVersion(jobDetails.getVersion(), job.getVersion(), Job.class, id);
 
         job.setTitle(jobDetails.getTitle());
         job.setDepartment(jobDetails.getDepartment());
@@ -42,14 +66,42 @@ public class JobService {
         job.setType(jobDetails.getType());
         job.setDescription(jobDetails.getDescription());
         job.setRequirements(jobDetails.getRequirements());
+        job.setRequirementItems(requirementsParser.parse(jobDetails.getRequirements()));
         job.setActive(jobDetails.isActive());
 
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        facetIndex.saved(saved);
+        return saved;
+    }
+
+    // Partial update: the entity stays managed, so only the patched columns are flushed
+    @Transactional
+    public Job patchJob(Long id, JsonNode patch) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job not found with id: " + id));
+
+        mergePatcher.checkVersion(patch, job.getVersion(), Job.class, id);
+        mergePatcher.apply(job, patch);
+        if (patch.has("requirements")) {
+            job.setRequirementItems(requirementsParser.parse(job.getRequirements()));
+        }
+        facetIndex.saved(job); // applied once the transaction commits
+        return job;
     }
 
     public void deleteJob(Long id) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found with id: " + id));
         jobRepository.delete(job);
+        facetIndex.deleted(id);
+    }
+
+    // Jobs saved before requirements were parsed on write. Runs before the facet index is built.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void parseMissingRequirements() {
+        jobRepository.findByRequirementItemsIsNull()
+                .forEach(job -> job.setRequirementItems(requirementsParser.parse(job.getRequirements())));
     }
 }
\ No newline at end of file
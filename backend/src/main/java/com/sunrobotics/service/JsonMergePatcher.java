@@ -0,0 +1,66 @@
+package com.sunrobotics.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Applies an RFC 7386 JSON Merge Patch onto a loaded entity: only the keys present
+ * in the patch are written, {@code null} clears a field. Untouched fields keep their
+ * value, so Hibernate's dirty checking leaves their columns out of the UPDATE.
+ */
+@Component
+public class JsonMergePatcher {
+
+    // Server-managed fields, never taken from a patch
+    private static final Set<String> PROTECTED_FIELDS = Set.of("id", "version", "createdAt", "updatedAt");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public <T> T apply(T target, JsonNode patch) {
+        ObjectNode fields = requireObject(patch).deepCopy();
+        fields.remove(PROTECTED_FIELDS);
+        try {
+            return objectMapper.readerForUpdating(target).readValue(fields);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid merge patch: " + e.getMessage());
+        }
+    }
+
+    // The client may send the "version" it last saw; a mismatch means someone else saved in between
+    public void checkVersion(JsonNode patch, Long currentVersion, Class<?> entityType, Object id) {
+        JsonNode expected = requireObject(patch).get("version");
+        if (expected == null || expected.isNull()) {
+            return;
+        }
+        // asLong() would turn "abc" or 1.5 into 0 and report a conflict for what is a bad request
+        if (!expected.isIntegralNumber() || !expected.canConvertToLong()) {
+            throw new RuntimeException("version must be an integer");
+        }
+        checkVersion(expected.longValue(), currentVersion, entityType, id);
+    }
+
+    // A full replacement (PUT) must name the version it replaces, otherwise it could silently undo another save
+    public void checkVersion(Long expected, Long currentVersion, Class<?> entityType, Object id) {
+        if (expected == null) {
+            throw new RuntimeException("version is required to update a " + entityType.getSimpleName().toLowerCase());
+        }
+        if (!expected.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(entityType, id);
+        }
+    }
+
+    private ObjectNode requireObject(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new RuntimeException("Merge patch must be a JSON object");
+        }
+        return (ObjectNode) patch;
+    }
+}
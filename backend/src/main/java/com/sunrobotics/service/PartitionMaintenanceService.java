@@ -0,0 +1,88 @@
+package com.sunrobotics.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps monthly partitions created ahead of time, so inserts never fall into the DEFAULT partition.
+ * <p>
+ * Postgres refuses to create a partition while the DEFAULT partition holds rows of its range
+ * (e.g. inserted while the month had no partition), so those rows are moved out first and put
+ * back through the parent once the partition exists, all in one transaction. A month that still
+ * fails is logged and the remaining months are created anyway.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("applications", "contact_messages");
+
+    // Partition key of each partitioned table
+    static final Map<String, String> PARTITION_KEYS = Map.of(
+            "applications", "applied_at",
+            "contact_messages", "created_at");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${sunrobotics.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${sunrobotics.partitions.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                try {
+                    createPartition(table, month);
+                } catch (DataAccessException e) {
+                    log.error("Could not create the {} partition of {}: {}", month, table, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Same naming as ensure_monthly_partitions() in the V2 migration: applications_p2026_01
+    void createPartition(String table, YearMonth month) {
+        String partition = table + "_p" + month.getYear() + "_" + String.format("%02d", month.getMonthValue());
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition) == Boolean.TRUE) {
+            return;
+        }
+        String key = PARTITION_KEYS.get(table);
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        Integer moved = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("CREATE TEMP TABLE moved_rows (LIKE " + table + ") ON COMMIT DROP");
+            int rows = jdbcTemplate.update("WITH taken AS (DELETE FROM " + table + "_default WHERE " + key + " >= ? AND "
+                    + key + " < ? RETURNING *) INSERT INTO moved_rows SELECT * FROM taken", start, end);
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + table
+                    + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+            jdbcTemplate.update("INSERT INTO " + table + " SELECT * FROM moved_rows");
+            return rows;
+        });
+        if (moved != null && moved > 0) {
+            log.warn("Moved {} rows of {} from {}_default into the new partition {}", moved, month, table, partition);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sunrobotics.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Shared argument handling for the admin search endpoints
+final class SearchSupport {
+
+    // pg_trgm cannot extract a trigram from fewer characters, so the index would not help
+    static final int MIN_TERM_LENGTH = 3;
+
+    private SearchSupport() {
+    }
+
+    static String requireTerm(String q) {
+        String term = q == null ? "" : q.trim();
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new RuntimeException("Search term must be at least " + MIN_TERM_LENGTH + " characters");
+        }
+        return term;
+    }
+
+    // ILIKE pattern for a literal substring; % and _ typed by the user are matched as-is
+    static String containsPattern(String term) {
+        return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    static LocalDateTime startOf(LocalDate from, LocalDateTime fallback) {
+        return from == null ? fallback : from.atStartOfDay();
+    }
+
+    // Inclusive end date -> exclusive upper bound
+    static LocalDateTime endOf(LocalDate to) {
+        return (to == null ? LocalDate.now() : to).plusDays(1).atStartOfDay();
+    }
+}
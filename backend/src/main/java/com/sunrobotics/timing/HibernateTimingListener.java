@@ -0,0 +1,45 @@
+package com.sunrobotics.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds Hibernate's JDBC work to the current {@link RequestTiming}: time spent getting a
+ * connection from Hikari, and time spent executing statements and batches. Hibernate creates
+ * one listener per session (see hibernate.session.events.auto), so the start times can live
+ * in plain fields.
+ */
+public class HibernateTimingListener implements SessionEventListener {
+
+    private long acquireStart;
+    private long statementStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquireStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming.record(Phase.DB_ACQUIRE, System.nanoTime() - acquireStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.recordStatement(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.recordStatement(System.nanoTime() - statementStart);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sunrobotics.timing;
+
+// Parts of a request reported in Server-Timing. The metric names are what the browser shows.
+public enum Phase {
+    FILTER("filter"),         // servlet/security filters before the controller, minus auth
+    AUTH("auth"),             // JWT parsing and validation
+    DB_ACQUIRE("db-acquire"), // waiting for a pooled connection
+    SQL("sql"),               // executing statements (all of them, summed)
+    HANDLER("handler"),       // controller + service body, including its db time
+    SER("ser");               // writing the response body
+
+    static final Phase[] VALUES = values();
+
+    private final String metric;
+
+    Phase(String metric) {
+        this.metric = metric;
+    }
+
+    public String metric() {
+        return metric;
+    }
+}
@@ -0,0 +1,179 @@
+package com.sunrobotics.timing;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Map;
+
+/**
+ * Phase timings for one request. Created by {@link ServerTimingFilter} and bound to the thread
+ * that is working on the request, so the JWT filter, the Hibernate listener and the MVC hooks can
+ * add to it without it being passed around. One instance per request: a few longs and no
+ * allocation while recording; the header string is only built when it is actually sent.
+ * <p>
+ * Not thread-safe. A request is handled by one thread at a time (streamed bodies hand it over
+ * to the async thread and back through the container's async dispatch).
+ */
+public final class RequestTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletResponse response;
+    private final boolean trailersAccepted;
+    private final long start = System.nanoTime();
+    private final long[] nanos = new long[Phase.VALUES.length];
+    private int statements;
+    private long handlerStart;
+    private long serStart;
+    private long end;
+    private boolean emitHeader;
+    private String pattern;
+
+    RequestTiming(HttpServletResponse response, boolean trailersAccepted) {
+        this.response = response;
+        this.trailersAccepted = trailersAccepted;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void attach(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    // No-op outside a request (scheduled jobs, startup)
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    public static void recordStatement(long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[Phase.SQL.ordinal()] += elapsedNanos;
+            timing.statements++;
+        }
+    }
+
+    // Called once the request reaches its controller; everything before it counts as filter time
+    void handlerStarted(String pattern, boolean emitHeader) {
+        if (handlerStart != 0) {
+            return; // async dispatch of a streamed response goes through the interceptors again
+        }
+        this.handlerStart = System.nanoTime();
+        this.pattern = pattern;
+        this.emitHeader = emitHeader;
+        closeFilterPhase(handlerStart);
+    }
+
+    /**
+     * Called right before the response body is written. Closes the handler phase and, when this
+     * request is being reported, sends everything measured so far as the Server-Timing header.
+     * Serialization and the total follow as a trailer for clients that sent {@code TE: trailers}.
+     */
+    public void serializationStarted() {
+        if (serStart != 0) {
+            return;
+        }
+        serStart = System.nanoTime();
+        if (handlerStart != 0) {
+            nanos[Phase.HANDLER.ordinal()] = serStart - handlerStart;
+        }
+        if (emitHeader && !response.isCommitted()) {
+            response.setHeader(HEADER, headerValue());
+            if (trailersAccepted) {
+                try {
+                    response.setTrailerFields(() -> Map.of(HEADER, trailerValue()));
+                    response.setHeader("Trailer", HEADER);
+                } catch (IllegalStateException e) {
+                    // Connector can't send trailers for this response (e.g. HTTP/1.0); header only
+                }
+            }
+        }
+    }
+
+    void finish() {
+        if (end != 0) {
+            return;
+        }
+        end = System.nanoTime();
+        if (serStart != 0) {
+            nanos[Phase.SER.ordinal()] = end - serStart;
+        } else if (handlerStart != 0) {
+            nanos[Phase.HANDLER.ordinal()] = end - handlerStart;
+        }
+        if (handlerStart == 0) {
+            // Rejected or answered by a filter: the whole request was filter time
+            closeFilterPhase(end);
+        }
+    }
+
+    private void closeFilterPhase(long until) {
+        nanos[Phase.FILTER.ordinal()] = Math.max(0, until - start - nanos[Phase.AUTH.ordinal()]);
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long totalNanos() {
+        return (end != 0 ? end : System.nanoTime()) - start;
+    }
+
+    // Best-matching handler pattern (e.g. /api/jobs/{id}), or null when no controller was reached
+    public String pattern() {
+        return pattern;
+    }
+
+    String headerValue() {
+        StringBuilder sb = new StringBuilder(160);
+        for (Phase phase : Phase.VALUES) {
+            if (phase == Phase.SER) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            appendMetric(sb, phase.metric(), nanos[phase.ordinal()]);
+            if (phase == Phase.SQL) {
+                sb.append(";desc=\"").append(statements).append(statements == 1 ? " statement\"" : " statements\"");
+            }
+        }
+        return sb.toString();
+    }
+
+    String trailerValue() {
+        long ser = serStart == 0 ? 0 : (end != 0 ? end : System.nanoTime()) - serStart;
+        StringBuilder sb = new StringBuilder(48);
+        appendMetric(sb, Phase.SER.metric(), ser);
+        sb.append(", ");
+        appendMetric(sb, "total", totalNanos());
+        return sb.toString();
+    }
+
+    // name;dur=12.345 (milliseconds, microsecond precision) without going through String.format
+    private static void appendMetric(StringBuilder sb, String name, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        sb.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+}
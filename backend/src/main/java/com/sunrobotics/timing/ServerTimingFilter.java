@@ -0,0 +1,120 @@
+package com.sunrobotics.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Outermost filter: starts the {@link RequestTiming} before Spring Security runs and records the
+ * finished request in {@link TimingStats}. Streamed responses complete on an async dispatch, which
+ * this filter also sees, so they are recorded once the body has been written.
+ * <p>
+ * Responses without a body (a 404 from ResponseEntity.notFound(), handlers returning Void) never
+ * reach ServerTimingAdvice, so the Server-Timing header is also sent from here: right before the
+ * response is flushed or an error is sent, or at the end of the chain if nothing committed it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    @Autowired
+    private TimingStats timingStats;
+
+    @Value("${sunrobotics.timing.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RequestTiming timing = (RequestTiming) request.getAttribute(ATTRIBUTE);
+        if (timing == null) {
+            String te = request.getHeader("TE");
+            timing = new RequestTiming(response, te != null && te.contains("trailers"));
+            request.setAttribute(ATTRIBUTE, timing);
+        }
+
+        RequestTiming.attach(timing);
+        try {
+            chain.doFilter(request, new TimingResponse(response, timing));
+        } finally {
+            RequestTiming.detach();
+            if (!request.isAsyncStarted()) {
+                timing.serializationStarted(); // no-op once a body was written
+                timing.finish();
+                timingStats.record(request.getMethod(), timing);
+            }
+        }
+    }
+
+    // Sends the header before anything can commit the response; serializationStarted() only acts once
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            timing.serializationStarted();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            timing.serializationStarted();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            timing.serializationStarted();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            timing.serializationStarted();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            timing.serializationStarted();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            timing.serializationStarted();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sunrobotics.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Marks the end of the filter phase and decides whether this response gets a Server-Timing header
+@Component
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    // Logged-in admins always see the header; public visitors only on a sample of requests
+    @Value("${sunrobotics.timing.header-sample-rate:0.0}")
+    private double headerSampleRate;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            timing.handlerStarted(pattern, isAdmin() || ThreadLocalRandom.current().nextDouble() < headerSampleRate);
+        }
+        return true;
+    }
+
+    private static boolean isAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
+    }
+}
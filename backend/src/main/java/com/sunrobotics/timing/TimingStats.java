@@ -0,0 +1,141 @@
+package com.sunrobotics.timing;
+
+import com.sunrobotics.dto.EndpointTimingDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling per-endpoint phase totals, so slow endpoints can be broken down without an APM.
+ * Each endpoint keeps one bucket per minute for the last {@code sunrobotics.timing.window-minutes};
+ * a bucket is reused (and cleared) when its minute comes round again.
+ */
+@Component
+public class TimingStats {
+
+    // Requests that never reached a controller (rejected by security, static 404s)
+    static final String NO_HANDLER = "(no handler)";
+    // Any method token outside the standard ones, so clients can't add keys at will
+    static final String OTHER_METHOD = "OTHER";
+
+    private final int windowMinutes;
+
+    // method -> handler pattern -> window; two levels so recording doesn't build a key string
+    private final Map<String, Map<String, Window>> windows = new ConcurrentHashMap<>();
+
+    public TimingStats(@Value("${sunrobotics.timing.window-minutes:5}") int windowMinutes) {
+        this.windowMinutes = Math.max(1, windowMinutes);
+    }
+
+    public void record(String method, RequestTiming timing) {
+        String pattern = timing.pattern() != null ? timing.pattern() : NO_HANDLER;
+        windows.computeIfAbsent(knownMethod(method), m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(pattern, p -> new Window(windowMinutes))
+                .add(currentMinute(), timing);
+    }
+
+    // Slowest endpoints first, by total time spent in them
+    public List<EndpointTimingDto> summary() {
+        long minute = currentMinute();
+        List<EndpointTimingDto> result = new ArrayList<>();
+        windows.forEach((method, byPattern) -> byPattern.forEach((pattern, window) -> {
+            EndpointTimingDto dto = window.summarize(method + " " + pattern, minute);
+            if (dto != null) {
+                result.add(dto);
+            }
+        }));
+        result.sort(Comparator.comparingDouble((EndpointTimingDto d) -> d.avgTotalMs() * d.requests()).reversed());
+        return result;
+    }
+
+    private static String knownMethod(String method) {
+        for (HttpMethod known : HttpMethod.values()) {
+            if (known.name().equals(method)) {
+                return known.name();
+            }
+        }
+        return OTHER_METHOD;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static final class Window {
+
+        private final long[] minute;
+        private final long[] count;
+        private final long[] statements;
+        private final long[] totalNanos;
+        private final long[] maxNanos;
+        private final long[][] phaseNanos;
+
+        Window(int minutes) {
+            minute = new long[minutes];
+            count = new long[minutes];
+            statements = new long[minutes];
+            totalNanos = new long[minutes];
+            maxNanos = new long[minutes];
+            phaseNanos = new long[minutes][Phase.VALUES.length];
+        }
+
+        synchronized void add(long now, RequestTiming timing) {
+            int i = (int) (now % minute.length);
+            if (minute[i] != now) {
+                minute[i] = now;
+                count[i] = 0;
+                statements[i] = 0;
+                totalNanos[i] = 0;
+                maxNanos[i] = 0;
+                Arrays.fill(phaseNanos[i], 0);
+            }
+            long total = timing.totalNanos();
+            count[i]++;
+            statements[i] += timing.statements();
+            totalNanos[i] += total;
+            maxNanos[i] = Math.max(maxNanos[i], total);
+            for (Phase phase : Phase.VALUES) {
+                phaseNanos[i][phase.ordinal()] += timing.nanos(phase);
+            }
+        }
+
+        synchronized EndpointTimingDto summarize(String endpoint, long now) {
+            long requests = 0, stmts = 0, total = 0, max = 0;
+            long[] phases = new long[Phase.VALUES.length];
+            for (int i = 0; i < minute.length; i++) {
+                if (now - minute[i] >= minute.length) {
+                    continue; // bucket from an older window
+                }
+                requests += count[i];
+                stmts += statements[i];
+                total += totalNanos[i];
+                max = Math.max(max, maxNanos[i]);
+                for (int p = 0; p < phases.length; p++) {
+                    phases[p] += phaseNanos[i][p];
+                }
+            }
+            if (requests == 0) {
+                return null;
+            }
+            Map<String, Double> avgPhaseMs = new LinkedHashMap<>();
+            for (Phase phase : Phase.VALUES) {
+                avgPhaseMs.put(phase.metric(), millis(phases[phase.ordinal()] / (double) requests));
+            }
+            return new EndpointTimingDto(endpoint, requests, millis(total / (double) requests), millis(max),
+                    Math.round(stmts * 100.0 / requests) / 100.0, avgPhaseMs);
+        }
+
+        // Rounded to microseconds
+        private static double millis(double nanos) {
+            return Math.round(nanos / 1_000) / 1_000.0;
+        }
+    }
+}
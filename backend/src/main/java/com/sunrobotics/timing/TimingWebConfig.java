@@ -0,0 +1,18 @@
+package com.sunrobotics.timing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TimingWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ServerTimingInterceptor serverTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serverTimingInterceptor);
+    }
+}
@@ -0,0 +1,40 @@
+-- Tables that used to be created by ddl-auto=update. IF NOT EXISTS keeps this a no-op
+-- on databases that already have them (Flyway baselines those at version 0).
+
+CREATE TABLE IF NOT EXISTS jobs (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        varchar(255),
+    department   varchar(255),
+    location     varchar(255),
+    type         varchar(255),
+    description  text,
+    requirements text,
+    is_active    boolean      NOT NULL,
+    created_at   timestamp(6),
+    version      bigint       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS blogs (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      varchar(255),
+    excerpt    varchar(1000),
+    content    text,
+    category   varchar(255),
+    author     varchar(255),
+    image_url  varchar(255),
+    read_time  varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    version    bigint       NOT NULL DEFAULT 0
+);
+
+-- Tables that already existed were created without the optimistic-lock column
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE blogs ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS users (
+    id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    role     varchar(255)
+);
@@ -0,0 +1,107 @@
+-- applications and contact_messages are append-mostly and only ever read newest-first,
+-- so they are range partitioned by month. Old months are exported and dropped by
+-- ArchiveService; PartitionMaintenanceService keeps partitions ahead of the clock.
+
+-- Creates <parent>_pYYYY_MM for every month from from_month up to months_ahead past the current one.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent text, from_month date, months_ahead int)
+RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    month_start date := date_trunc('month', from_month)::date;
+    last_month  date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       parent || '_p' || to_char(month_start, 'YYYY_MM'), parent,
+                       month_start, (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Move an existing plain table out of the way so its rows can be copied into the partitioned one.
+CREATE OR REPLACE FUNCTION detach_unpartitioned(parent text)
+RETURNS boolean LANGUAGE plpgsql AS $$
+BEGIN
+    IF to_regclass(parent) IS NULL
+       OR EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(parent)) THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', parent, parent || '_unpartitioned');
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = parent || '_pkey') THEN
+        EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I',
+                       parent || '_unpartitioned', parent || '_pkey', parent || '_unpartitioned_pkey');
+    END IF;
+    RETURN true;
+END $$;
+
+-- --- APPLICATIONS ---
+
+SELECT detach_unpartitioned('applications');
+
+CREATE TABLE IF NOT EXISTS applications (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY,
+    job_id       bigint       NOT NULL REFERENCES jobs (id),
+    full_name    varchar(255),
+    email        varchar(255),
+    phone        varchar(255),
+    resume_url   varchar(255),
+    cover_letter text,
+    status       varchar(255),
+    applied_at   timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, applied_at)
+) PARTITION BY RANGE (applied_at);
+
+-- Only catches rows outside the pre-created months; it should stay empty
+CREATE TABLE IF NOT EXISTS applications_default PARTITION OF applications DEFAULT;
+
+DO $$
+BEGIN
+    IF to_regclass('applications_unpartitioned') IS NOT NULL THEN
+        PERFORM ensure_monthly_partitions('applications',
+                COALESCE((SELECT min(applied_at) FROM applications_unpartitioned), now())::date, 3);
+        INSERT INTO applications (id, job_id, full_name, email, phone, resume_url, cover_letter, status, applied_at)
+        SELECT id, job_id, full_name, email, phone, resume_url, cover_letter, status, COALESCE(applied_at, now())
+        FROM applications_unpartitioned;
+        DROP TABLE applications_unpartitioned;
+    ELSE
+        PERFORM ensure_monthly_partitions('applications', now()::date, 3);
+    END IF;
+    PERFORM setval(pg_get_serial_sequence('applications', 'id'),
+                   COALESCE((SELECT max(id) FROM applications), 0) + 1, false);
+END $$;
+
+-- --- CONTACT MESSAGES ---
+
+SELECT detach_unpartitioned('contact_messages');
+
+CREATE TABLE IF NOT EXISTS contact_messages (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY,
+    name       varchar(255),
+    email      varchar(255),
+    company    varchar(255),
+    phone      varchar(255),
+    subject    varchar(255),
+    message    text,
+    is_read    boolean      NOT NULL DEFAULT false,
+    created_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS contact_messages_default PARTITION OF contact_messages DEFAULT;
+
+DO $$
+BEGIN
+    IF to_regclass('contact_messages_unpartitioned') IS NOT NULL THEN
+        PERFORM ensure_monthly_partitions('contact_messages',
+                COALESCE((SELECT min(created_at) FROM contact_messages_unpartitioned), now())::date, 3);
+        INSERT INTO contact_messages (id, name, email, company, phone, subject, message, is_read, created_at)
+        SELECT id, name, email, company, phone, subject, message, is_read, COALESCE(created_at, now())
+        FROM contact_messages_unpartitioned;
+        DROP TABLE contact_messages_unpartitioned;
+    ELSE
+        PERFORM ensure_monthly_partitions('contact_messages', now()::date, 3);
+    END IF;
+    PERFORM setval(pg_get_serial_sequence('contact_messages', 'id'),
+                   COALESCE((SELECT max(id) FROM contact_messages), 0) + 1, false);
+END $$;
+
+DROP FUNCTION detach_unpartitioned(text);
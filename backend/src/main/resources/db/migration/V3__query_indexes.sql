@@ -0,0 +1,18 @@
+-- Secondary indexes for the read paths the API actually uses.
+-- Indexes on the partitioned parents are created on every existing and future partition.
+
+-- JobRepository.streamByIsActiveTrue (JobFacetIndex rebuild). Partial: inactive jobs are never indexed.
+CREATE INDEX IF NOT EXISTS idx_jobs_active_created_at ON jobs (created_at DESC) WHERE is_active;
+
+-- BlogRepository.streamAllByOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_blogs_created_at ON blogs (created_at DESC);
+
+-- ApplicationRepository: newest first inside the hot window, optionally filtered by status
+CREATE INDEX IF NOT EXISTS idx_applications_applied_at ON applications (applied_at DESC);
+CREATE INDEX IF NOT EXISTS idx_applications_status_applied_at ON applications (status, applied_at DESC);
+
+-- applications.job_id: applications per job and the FK check when a job is deleted
+CREATE INDEX IF NOT EXISTS idx_applications_job_id ON applications (job_id);
+
+-- ContactMessageRepository: newest first inside the hot window
+CREATE INDEX IF NOT EXISTS idx_contact_messages_created_at ON contact_messages (created_at DESC);
@@ -0,0 +1,15 @@
+-- Trigram GIN indexes for the admin search endpoints. gin_trgm_ops serves both
+-- ILIKE '%term%' substring matches and the <% word-similarity (fuzzy) operator.
+-- One index per column: the planner combines them with BitmapOr, and a multi-column
+-- GIN index costs several times more to probe per condition.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_applications_full_name_trgm ON applications USING gin (full_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_applications_email_trgm ON applications USING gin (email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_applications_phone_trgm ON applications USING gin (phone gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_contact_messages_name_trgm ON contact_messages USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contact_messages_email_trgm ON contact_messages USING gin (email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contact_messages_phone_trgm ON contact_messages USING gin (phone gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contact_messages_company_trgm ON contact_messages USING gin (company gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contact_messages_subject_trgm ON contact_messages USING gin (subject gin_trgm_ops);
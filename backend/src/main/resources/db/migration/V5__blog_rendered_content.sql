@@ -0,0 +1,5 @@
+-- Blog content is rendered once on write (BlogContentRenderer) instead of in the browser on
+-- every view. Existing posts are rendered by BlogService on the next startup.
+ALTER TABLE blogs ADD COLUMN IF NOT EXISTS content_html TEXT;
+ALTER TABLE blogs ADD COLUMN IF NOT EXISTS toc JSONB;
+ALTER TABLE blogs ADD COLUMN IF NOT EXISTS word_count INTEGER;
@@ -0,0 +1,7 @@
+-- Job.requirements is free text (a JSON array, bullet lines or a comma list). Its parsed form
+-- is stored as a JSON array of strings so it can be queried, e.g.
+--   SELECT * FROM jobs WHERE requirement_items ? 'Python';
+-- Existing jobs are parsed by JobService on the next startup.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS requirement_items JSONB;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_requirement_items ON jobs USING gin (requirement_items);
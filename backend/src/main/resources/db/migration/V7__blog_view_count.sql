@@ -0,0 +1,3 @@
+-- Views are counted in memory (BlogViewCounter) and added here in batches every few seconds,
+-- so this column trails the live count by at most one flush interval.
+ALTER TABLE blogs ADD COLUMN IF NOT EXISTS view_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Public submissions carry an id chosen when the request arrives. A submission that was
+-- journaled because the database timed out may still have been written by the original
+-- request, and the journal replays at least once; both insert with
+-- ON CONFLICT (submission_id, <partition key>) DO NOTHING, so each lands exactly once.
+-- The partition key is part of the key because unique indexes on partitioned tables need it;
+-- it is fixed at submission time too. Rows from before this migration keep a NULL id.
+ALTER TABLE applications ADD COLUMN IF NOT EXISTS submission_id UUID;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_applications_submission ON applications (submission_id, applied_at);
+
+ALTER TABLE contact_messages ADD COLUMN IF NOT EXISTS submission_id UUID;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_contact_messages_submission ON contact_messages (submission_id, created_at);
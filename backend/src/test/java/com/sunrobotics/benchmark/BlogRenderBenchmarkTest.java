@@ -0,0 +1,82 @@
+package com.sunrobotics.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.sunrobotics.dto.BlogDetailDto;
+import com.sunrobotics.model.Blog;
+import com.sunrobotics.service.BlogContentRenderer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of serving one blog post when its Markdown is rendered and sanitized on every read,
+ * versus once on save with reads returning the stored HTML. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BlogRenderBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 1_000;
+
+    private final BlogContentRenderer renderer = new BlogContentRenderer();
+    private final ObjectWriter writer = new ObjectMapper().registerModule(new JavaTimeModule())
+            .registerModule(new BlackbirdModule())
+            .writerFor(BlogDetailDto.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Test
+    void renderOnReadVersusRenderOnWrite() throws Exception {
+        Blog blog = blog();
+
+        // Before: every GET renders the source (what the browser used to do, minus sanitizing)
+        double renderOnReadMs = Measure.msPerOp(WARMUP, ROUNDS, () -> {
+            render(blog);
+            writer.writeValue(sink, BlogDetailDto.from(blog, 0));
+        });
+
+        // After: the write path renders once...
+        double writeMs = Measure.msPerOp(WARMUP, ROUNDS, () -> render(blog));
+        // ...and GET only maps and serializes the stored result
+        double readMs = Measure.msPerOp(WARMUP, ROUNDS, () -> writer.writeValue(sink, BlogDetailDto.from(blog, 0)));
+
+        System.out.printf("%,d words | render on read: %.3f ms/GET | render on write: %.3f ms/save, %.3f ms/GET (%.0fx)%n",
+                blog.getWordCount(), renderOnReadMs, writeMs, readMs, renderOnReadMs / readMs);
+        assertTrue(readMs < renderOnReadMs);
+    }
+
+    private void render(Blog blog) {
+        BlogContentRenderer.Rendered rendered = renderer.render(blog.getContent());
+        blog.setContentHtml(rendered.html());
+        blog.setToc(rendered.toc());
+        blog.setWordCount(rendered.wordCount());
+        blog.setReadTime(rendered.readTime());
+    }
+
+    // A typical long post: ~1,500 words with headings, lists, code and a table
+    private Blog blog() {
+        StringBuilder md = new StringBuilder("# Building an autonomous rover\n\n");
+        for (int s = 1; s <= 8; s++) {
+            md.append("## Step ").append(s).append(": wiring and **calibration**\n\n");
+            md.append("Our rover uses a *ROS 2* stack on a Jetson board. ".repeat(15)).append("\n\n");
+            md.append("- Check the motor driver\n- Flash the firmware\n- Run `colcon build`\n\n");
+            md.append("```python\nimport rclpy\nrclpy.init()\n```\n\n");
+            md.append("| Part | Qty |\n|------|-----|\n| Motor | 4 |\n| Lidar | 1 |\n\n");
+        }
+        Blog blog = new Blog();
+        blog.setId(1L);
+        blog.setTitle("Building an autonomous rover");
+        blog.setExcerpt("From wiring to SLAM");
+        blog.setContent(md.toString());
+        blog.setCategory("Robotics");
+        blog.setAuthor("Sun Robotics Team");
+        return blog;
+    }
+}
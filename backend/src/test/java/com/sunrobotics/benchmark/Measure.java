@@ -0,0 +1,24 @@
+package com.sunrobotics.benchmark;
+
+// Wall-clock timing shared by the benchmark tests
+final class Measure {
+
+    interface Op {
+        void run() throws Exception;
+    }
+
+    private Measure() {
+    }
+
+    // Average milliseconds per run, after warmup runs that are not timed
+    static double msPerOp(int warmup, int rounds, Op op) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / rounds;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sunrobotics.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.sunrobotics.dto.JobResponseDto;
+import com.sunrobotics.model.Job;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Before/after cost of serializing the job list: Lombok entities through a plain
+ * ObjectMapper vs. record DTOs through Blackbird, written incrementally as the list
+ * endpoints now do. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationBenchmarkTest {
+
+    private static final int JOBS = 2_000;
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 100;
+
+    @Test
+    void entityVersusDtoSerialization() throws Exception {
+        List<Job> jobs = jobs();
+
+        ObjectMapper before = new ObjectMapper().registerModule(new JavaTimeModule());
+        ObjectWriter after = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .writerFor(JobResponseDto.class);
+
+        CountingStream sink = new CountingStream();
+        double entityMs = Measure.msPerOp(WARMUP, ROUNDS, () -> before.writeValue(sink, jobs));
+        long entityBytes = sink.reset() / (WARMUP + ROUNDS);
+
+        double dtoMs = Measure.msPerOp(WARMUP, ROUNDS, () -> {
+            try (SequenceWriter array = after.writeValuesAsArray(sink)) {
+                for (Job job : jobs) {
+                    array.write(JobResponseDto.from(job));
+                }
+            }
+        });
+        long dtoBytes = sink.reset() / (WARMUP + ROUNDS);
+
+        System.out.printf("%,d jobs | entity + reflection: %.3f ms/op (%,d bytes) | dto + blackbird, streamed: %.3f ms/op (%,d bytes)%n",
+                JOBS, entityMs, entityBytes, dtoMs, dtoBytes);
+        assertTrue(entityBytes > 0 && dtoBytes > 0);
+    }
+
+    private List<Job> jobs() {
+        List<Job> jobs = new ArrayList<>(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            Job job = new Job();
+            job.setId((long) i);
+            job.setTitle("Robotics Engineer " + i);
+            job.setDepartment(i % 2 == 0 ? "Engineering" : "AI Research");
+            job.setLocation(i % 3 == 0 ? "Remote" : "Pune");
+            job.setType("Full-time");
+            job.setDescription("Design and build autonomous systems. ".repeat(20));
+            job.setRequirements("[\"ROS\", \"C++\", \"Python\", \"Computer vision\"]");
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    // Discards output, only counts bytes
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long reset() {
+            long c = count;
+            count = 0;
+            return c;
+        }
+    }
+}
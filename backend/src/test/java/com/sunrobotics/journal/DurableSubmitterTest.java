@@ -0,0 +1,112 @@
+package com.sunrobotics.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableSubmitterTest {
+
+    private static final Map<String, String> SUBMISSION = Map.of("name", "Asha");
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private SubmissionJournal journal;
+    private DurableSubmitter submitter;
+
+    @BeforeEach
+    void setUp() {
+        journal = new SubmissionJournal(dir, 64 * 1024, FsyncPolicy.NEVER, 1000);
+        submitter = new DurableSubmitter(200, 2);
+        ReflectionTestUtils.setField(submitter, "journal", journal);
+        ReflectionTestUtils.setField(submitter, "objectMapper", objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        submitter.shutdown();
+        journal.close();
+    }
+
+    @Test
+    void classifiesConnectionAndTimeoutFailuresAsUnavailable() {
+        assertTrue(DurableSubmitter.isUnavailable(new CannotCreateTransactionException("no connection")));
+        assertTrue(DurableSubmitter.isUnavailable(new QueryTimeoutException("statement timeout")));
+        // Postgres SQLSTATEs, however deeply wrapped
+        assertTrue(DurableSubmitter.isUnavailable(new JpaSystemException(new RuntimeException(
+                new SQLException("Connection refused", "08001")))));
+        assertTrue(DurableSubmitter.isUnavailable(new JpaSystemException(new RuntimeException(
+                new SQLException("the database system is starting up", "57P03")))));
+
+        assertFalse(DurableSubmitter.isUnavailable(new RuntimeException("Job not found with ID: 9")));
+        assertFalse(DurableSubmitter.isUnavailable(new DataIntegrityViolationException("duplicate key",
+                new SQLException("duplicate key value", "23505"))));
+    }
+
+    @Test
+    void savesWhenTheWriteSucceeds() {
+        assertEquals(DurableSubmitter.Outcome.SAVED, submitter.submit(SubmissionJournal.CONTACT_MESSAGE, SUBMISSION, () -> {
+        }));
+        assertEquals(0, journal.pending());
+    }
+
+    @Test
+    void journalsWhenTheDatabaseCannotBeReached() throws Exception {
+        DurableSubmitter.Outcome outcome = submitter.submit(SubmissionJournal.CONTACT_MESSAGE, SUBMISSION, () -> {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager",
+                    new SQLException("Connection refused", "08001"));
+        });
+
+        assertEquals(DurableSubmitter.Outcome.JOURNALED, outcome);
+        List<JournalRecord> records = journal.readAfter(0, 10);
+        assertEquals(1, records.size());
+        assertEquals(SubmissionJournal.CONTACT_MESSAGE, records.get(0).type());
+        assertEquals(SUBMISSION, objectMapper.readValue(records.get(0).payload(), Map.class));
+    }
+
+    @Test
+    void journalsWhenTheDatabaseDoesNotAnswerInTime() {
+        DurableSubmitter.Outcome outcome = submitter.submit(SubmissionJournal.APPLICATION, SUBMISSION, () -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertEquals(DurableSubmitter.Outcome.JOURNALED, outcome);
+        assertEquals(1, journal.pending());
+    }
+
+    @Test
+    void rethrowsErrorsTheClientMustSee() {
+        // Reaches GlobalExceptionHandler as a 400, nothing is journaled
+        RuntimeException notFound = assertThrows(RuntimeException.class,
+                () -> submitter.submit(SubmissionJournal.APPLICATION, SUBMISSION, () -> {
+                    throw new RuntimeException("Job not found with ID: 9");
+                }));
+        assertEquals("Job not found with ID: 9", notFound.getMessage());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> submitter.submit(SubmissionJournal.APPLICATION, SUBMISSION, () -> {
+                    throw new DataIntegrityViolationException("value too long");
+                }));
+        assertEquals(0, journal.pending());
+    }
+}
@@ -0,0 +1,17 @@
+package com.sunrobotics.journal;
+
+import java.nio.file.Path;
+
+// Run in a separate JVM by SubmissionJournalTest, which kills it while it is appending.
+// Prints each seq once append() has returned, i.e. once the submission would have been acknowledged.
+public class JournalCrashWriter {
+
+    public static void main(String[] args) {
+        SubmissionJournal journal = new SubmissionJournal(Path.of(args[0]), Integer.parseInt(args[1]), FsyncPolicy.NEVER, 1000);
+        for (int i = 1; ; i++) {
+            long seq = journal.append(SubmissionJournalTest.typeOf(i), SubmissionJournalTest.payloadOf(i));
+            System.out.println(seq);
+            System.out.flush();
+        }
+    }
+}
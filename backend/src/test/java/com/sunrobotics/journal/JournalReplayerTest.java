@@ -0,0 +1,196 @@
+package com.sunrobotics.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sunrobotics.dto.ApplicationRequestDto;
+import com.sunrobotics.dto.ContactMessageDto;
+import com.sunrobotics.dto.PendingApplication;
+import com.sunrobotics.dto.PendingContactMessage;
+import com.sunrobotics.service.ApplicationService;
+import com.sunrobotics.service.ContactService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JournalReplayerTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ApplicationService applicationService = mock(ApplicationService.class);
+    private final ContactService contactService = mock(ContactService.class);
+    private SubmissionJournal journal;
+    private JournalReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        journal = new SubmissionJournal(dir, 64 * 1024, FsyncPolicy.NEVER, 1000);
+        replayer = new JournalReplayer();
+        ReflectionTestUtils.setField(replayer, "journal", journal);
+        ReflectionTestUtils.setField(replayer, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(replayer, "applicationService", applicationService);
+        ReflectionTestUtils.setField(replayer, "contactService", contactService);
+        ReflectionTestUtils.setField(replayer, "journalDir", dir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void stopsAtTheFirstUnavailableRecordAndKeepsTheOrder() throws Exception {
+        PendingApplication first = application(1L);
+        PendingContactMessage second = contactMessage("Second");
+        PendingApplication third = application(2L);
+        append(SubmissionJournal.APPLICATION, first);
+        append(SubmissionJournal.CONTACT_MESSAGE, second);
+        append(SubmissionJournal.APPLICATION, third);
+
+        doThrow(new CannotCreateTransactionException("Could not open JPA EntityManager"))
+                .doNothing()
+                .when(contactService).insertMessage(any());
+
+        replayer.replay();
+        // The third waits behind the second, even though it might have gone through
+        verify(applicationService).saveApplication(first);
+        verify(applicationService, never()).saveApplication(third);
+        assertEquals(1, journal.replayedUpTo());
+        assertEquals(2, journal.pending());
+
+        replayer.replay();
+        InOrder order = inOrder(applicationService, contactService);
+        order.verify(applicationService).saveApplication(first);
+        order.verify(contactService, times(2)).insertMessage(second);
+        order.verify(applicationService).saveApplication(third);
+        assertEquals(3, journal.replayedUpTo());
+        assertEquals(0, journal.pending());
+    }
+
+    @Test
+    void movesSubmissionsThatCanNeverBeSavedToTheDeadLetterFile() throws Exception {
+        PendingApplication orphan = application(99L);
+        PendingContactMessage next = contactMessage("After the orphan");
+        append(SubmissionJournal.APPLICATION, orphan);
+        journal.append(SubmissionJournal.CONTACT_MESSAGE, "not json".getBytes(StandardCharsets.UTF_8));
+        append(SubmissionJournal.CONTACT_MESSAGE, next);
+
+        doThrow(new RuntimeException("Job not found with ID: 99")).when(applicationService).saveApplication(orphan);
+
+        replayer.replay();
+
+        verify(contactService).insertMessage(next);
+        assertEquals(0, journal.pending());
+
+        List<String> lines = Files.readAllLines(dir.resolve(JournalReplayer.DEAD_LETTERS));
+        assertEquals(2, lines.size());
+        JsonNode deadOrphan = objectMapper.readTree(lines.get(0));
+        assertEquals(1, deadOrphan.get("seq").asLong());
+        assertEquals("Job not found with ID: 99", deadOrphan.get("error").asText());
+        // The payload is kept whole, so the submission can be recovered by hand
+        assertEquals(orphan, objectMapper.readValue(deadOrphan.get("payload").asText(), PendingApplication.class));
+        assertEquals("not json", objectMapper.readTree(lines.get(1)).get("payload").asText());
+    }
+
+    @Test
+    void deadLettersARecordThatFailsItsChecksum() throws Exception {
+        PendingContactMessage first = contactMessage("First");
+        PendingContactMessage damaged = contactMessage("Damaged on disk");
+        PendingContactMessage third = contactMessage("Third");
+        append(SubmissionJournal.CONTACT_MESSAGE, first);
+        append(SubmissionJournal.CONTACT_MESSAGE, damaged);
+        append(SubmissionJournal.CONTACT_MESSAGE, third);
+
+        int damagedStart = 16 + 8 + 9 + objectMapper.writeValueAsBytes(first).length;
+        int damagedSize = 8 + 9 + objectMapper.writeValueAsBytes(damaged).length;
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        SubmissionJournalTest.flipByte(segment, damagedStart + 8 + 9 + 3);
+
+        replayer.replay();
+
+        verify(contactService).insertMessage(first);
+        verify(contactService).insertMessage(third);
+        verify(contactService, times(2)).insertMessage(any());
+        assertEquals(0, journal.pending());
+
+        List<String> lines = Files.readAllLines(dir.resolve(JournalReplayer.DEAD_LETTERS));
+        assertEquals(1, lines.size());
+        JsonNode dead = objectMapper.readTree(lines.get(0));
+        assertEquals(2, dead.get("seq").asLong());
+        assertEquals(damagedSize, Base64.getDecoder().decode(dead.get("raw").asText()).length);
+    }
+
+    @Test
+    void forcesTheJournalWhileReplayIsBlocked(@TempDir Path intervalDir) throws Exception {
+        journal.close();
+        journal = new SubmissionJournal(intervalDir, 64 * 1024, FsyncPolicy.INTERVAL, 20);
+        ReflectionTestUtils.setField(replayer, "journal", journal);
+        append(SubmissionJournal.CONTACT_MESSAGE, contactMessage("Slow insert"));
+
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inserting.countDown();
+            release.await();
+            return null;
+        }).when(contactService).insertMessage(any());
+        Thread replay = new Thread(replayer::replay);
+        replay.start();
+        try {
+            assertTrue(inserting.await(5, TimeUnit.SECONDS));
+            append(SubmissionJournal.CONTACT_MESSAGE, contactMessage("Accepted meanwhile"));
+            assertTrue(journal.hasUnforced());
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (journal.hasUnforced() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(journal.hasUnforced(), "journal not forced while replay was blocked");
+        } finally {
+            release.countDown();
+            replay.join(5_000);
+        }
+    }
+
+    private void append(byte type, Object submission) throws Exception {
+        journal.append(type, objectMapper.writeValueAsBytes(submission));
+    }
+
+    private static PendingApplication application(Long jobId) {
+        ApplicationRequestDto request = new ApplicationRequestDto();
+        request.setJobId(jobId);
+        request.setFullName("Asha Rao");
+        request.setEmail("asha@example.com");
+        return PendingApplication.of(request);
+    }
+
+    private static PendingContactMessage contactMessage(String text) {
+        ContactMessageDto message = new ContactMessageDto();
+        message.setName("Asha Rao");
+        message.setEmail("asha@example.com");
+        message.setMessage(text);
+        return PendingContactMessage.of(message);
+    }
+}
@@ -0,0 +1,180 @@
+package com.sunrobotics.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionJournalTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    // Deterministic per seq, so a recovered record can be checked byte for byte; sizes vary
+    static byte typeOf(long seq) {
+        return seq % 3 == 0 ? SubmissionJournal.CONTACT_MESSAGE : SubmissionJournal.APPLICATION;
+    }
+
+    static byte[] payloadOf(long seq) {
+        return ("{\"submission\":" + seq + ",\"text\":\"" + "x".repeat((int) (seq * 37 % 900)) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void recoversEveryAcknowledgedRecordAfterTheProcessIsKilled() throws Exception {
+        Process writer = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                JournalCrashWriter.class.getName(), dir.toString(), Integer.toString(SEGMENT_BYTES))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        long acknowledged = 0;
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+            String line;
+            // Enough to fill several segments, then SIGKILL while it keeps appending
+            while (acknowledged < 2_000 && (line = out.readLine()) != null) {
+                acknowledged = Long.parseLong(line.trim());
+            }
+            writer.destroyForcibly();
+            assertTrue(writer.waitFor(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2_000, acknowledged, "writer stopped early");
+
+        SubmissionJournal journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000);
+        List<JournalRecord> records = journal.readAfter(0, Integer.MAX_VALUE);
+        assertTrue(records.size() >= acknowledged, records.size() + " < " + acknowledged);
+        for (int i = 0; i < records.size(); i++) {
+            JournalRecord record = records.get(i);
+            assertEquals(i + 1, record.seq());
+            assertEquals(typeOf(record.seq()), record.type());
+            assertArrayEquals(payloadOf(record.seq()), record.payload());
+        }
+
+        // Appends continue after the recovered tail
+        long next = journal.append(SubmissionJournal.APPLICATION, payloadOf(1));
+        assertEquals(records.size() + 1, next);
+        journal.close();
+        assertEquals(next, new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000).readAfter(next - 1, 10).get(0).seq());
+    }
+
+    @Test
+    void discardsTornRecordAndKeepsAppending() throws Exception {
+        SubmissionJournal journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000);
+        for (int i = 1; i <= 3; i++) {
+            journal.append(typeOf(i), payloadOf(i));
+        }
+        journal.close();
+
+        // Half of a fourth record: length and crc made it to disk, the body didn't
+        Path segment = segments().get(0);
+        int end = 16;
+        for (int i = 1; i <= 3; i++) {
+            end += 8 + 9 + payloadOf(i).length;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(9 + 500).putInt(0x12345678).putInt(4).flip(), end);
+        }
+
+        journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000);
+        assertEquals(3, journal.readAfter(0, 100).size());
+        assertEquals(4, journal.append(SubmissionJournal.CONTACT_MESSAGE, payloadOf(4)));
+        journal.close();
+
+        List<JournalRecord> records = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000).readAfter(0, 100);
+        assertEquals(List.of(1L, 2L, 3L, 4L), records.stream().map(JournalRecord::seq).toList());
+        assertArrayEquals(payloadOf(4), records.get(3).payload());
+    }
+
+    @Test
+    void resumesAfterCheckpointAndDeletesReplayedSegments() throws Exception {
+        SubmissionJournal journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.INTERVAL, 1000);
+        for (int i = 1; i <= 300; i++) {
+            journal.append(typeOf(i), payloadOf(i));
+        }
+        int before = segments().size();
+        assertTrue(before > 2, "expected several segments, got " + before);
+
+        journal.markReplayed(250);
+        assertTrue(segments().size() < before);
+        assertEquals(50, journal.pending());
+        journal.close();
+
+        journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.INTERVAL, 1000);
+        assertEquals(250, journal.replayedUpTo());
+        List<JournalRecord> rest = journal.readAfter(journal.replayedUpTo(), 1_000);
+        assertEquals(251, rest.get(0).seq());
+        assertEquals(300, rest.get(rest.size() - 1).seq());
+        assertEquals(301, journal.append(SubmissionJournal.APPLICATION, payloadOf(301)));
+    }
+
+    @Test
+    void handsOverDamagedRecordsAndReadsOnPastThem() throws Exception {
+        SubmissionJournal journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000);
+        for (int i = 1; i <= 5; i++) {
+            journal.append(typeOf(i), payloadOf(i));
+        }
+        // A flipped payload byte in #2, and a length in #4 that now points past the segment
+        flipByte(segments().get(0), recordStart(2) + 8 + 9 + 5);
+        flipByte(segments().get(0), recordStart(4));
+
+        assertDamaged(journal.readAfter(0, 100));
+        // Replay resumes in the middle of the damage just as well
+        assertEquals(List.of(2L, 3L, 4L, 5L), journal.readAfter(1, 100).stream().map(JournalRecord::seq).toList());
+        journal.close();
+
+        // Reopening doesn't take the damage for a torn tail: the records after it are kept
+        journal = new SubmissionJournal(dir, SEGMENT_BYTES, FsyncPolicy.ALWAYS, 1000);
+        assertDamaged(journal.readAfter(0, 100));
+        assertEquals(6, journal.append(SubmissionJournal.APPLICATION, payloadOf(6)));
+        journal.close();
+    }
+
+    private static void assertDamaged(List<JournalRecord> records) {
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), records.stream().map(JournalRecord::seq).toList());
+        assertEquals(SubmissionJournal.CORRUPT, records.get(1).type());
+        assertEquals(SubmissionJournal.CORRUPT, records.get(3).type());
+        // The raw bytes of the whole record, headers included
+        assertEquals(8 + 9 + payloadOf(2).length, records.get(1).payload().length);
+        for (int i : new int[]{0, 2, 4}) {
+            assertArrayEquals(payloadOf(i + 1), records.get(i).payload());
+        }
+    }
+
+    static int recordStart(long seq) {
+        int pos = 16;
+        for (int i = 1; i < seq; i++) {
+            pos += 8 + 9 + payloadOf(i).length;
+        }
+        return pos;
+    }
+
+    // Through the file, as a disk error would; the journal's mapping sees the same page
+    static void flipByte(Path segment, int pos) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, pos);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (one.get(0) ^ 0x40)}), pos);
+        }
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.sunrobotics.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sunrobotics.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN for the SQL behind each repository query against an embedded Postgres
+ * that has been migrated with Flyway and seeded with a few hundred thousand rows.
+ * A query fails when it reads a large table with a sequential scan, or when the index
+ * meant for it is not used.
+ * <p>
+ * The SQL is the statement Hibernate generates when the repository method is called
+ * (captured by {@link SqlCapture}), so changing a query's predicates or ORDER BY changes
+ * what is checked here. It is explained as a prepared statement with the bind values the
+ * method was called with, planned as a custom plan like the real execution.
+ * <p>
+ * Sequential scans are disabled for the session, so the planner only falls back to one
+ * when no index can serve the query. The result does not depend on the seed size or on
+ * table statistics.
+ */
+class QueryPlanRegressionTest extends EmbeddedPostgresTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of("jobs", "blogs", "applications", "contact_messages");
+
+    // Same bound ArchiveService.hotWindowStart() puts on the admin lists (12 months retention)
+    private static final YearMonth HOT_WINDOW = YearMonth.now().minusMonths(12);
+    private static final String HOT_WINDOW_START = "TIMESTAMP '" + HOT_WINDOW.atDay(1) + " 00:00'";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @DynamicPropertySource
+    static void captureStatements(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", SqlCapture.class::getName);
+    }
+
+    @BeforeAll
+    static void seedDatabase() throws Exception {
+        seed();
+    }
+
+    private interface RepositoryCall {
+        void run(QueryPlanRegressionTest test);
+    }
+
+    // name, repository call, its bind values in statement order (as SQL literals), index it must use
+    static Stream<Arguments> repositoryQueries() {
+        LocalDateTime since = HOT_WINDOW.atDay(1).atStartOfDay();
+        Sort newestApplications = Sort.by(Sort.Direction.DESC, "appliedAt");
+        return Stream.of(
+                Arguments.of("JobRepository.streamByIsActiveTrue",
+                        (RepositoryCall) t -> t.consume(t.jobRepository.streamByIsActiveTrue()),
+                        List.of(), "idx_jobs_active_created_at"),
+                Arguments.of("BlogRepository.streamAllByOrderByCreatedAtDesc",
+                        (RepositoryCall) t -> t.consume(t.blogRepository.streamAllByOrderByCreatedAtDesc()),
+                        List.of(), "idx_blogs_created_at"),
+                Arguments.of("ApplicationRepository.streamByAppliedAtGreaterThanEqual",
+                        (RepositoryCall) t -> t.consume(t.applicationRepository.streamByAppliedAtGreaterThanEqual(since, newestApplications)),
+                        List.of(HOT_WINDOW_START), "applied_at"),
+                Arguments.of("ApplicationRepository.streamByStatusAndAppliedAtGreaterThanEqual",
+                        (RepositoryCall) t -> t.consume(t.applicationRepository.streamByStatusAndAppliedAtGreaterThanEqual("NEW", since, newestApplications)),
+                        List.of("'NEW'", HOT_WINDOW_START), "status_applied_at"),
+                Arguments.of("ContactMessageRepository.streamByCreatedAtGreaterThanEqual",
+                        (RepositoryCall) t -> t.consume(t.contactMessageRepository.streamByCreatedAtGreaterThanEqual(since, Sort.by(Sort.Direction.DESC, "createdAt"))),
+                        List.of(HOT_WINDOW_START), "created_at"));
+    }
+
+    private void consume(Stream<?> rows) {
+        try (rows) {
+            rows.findFirst();
+        }
+    }
+
+    // Every search predicate must be servable by its column's trigram index. Partitions name
+    // their copies of the index after the column (applications_p2026_01_full_name_idx).
+    static Stream<Arguments> searchPredicates() {
+        return Stream.of(
+                Arguments.of("applications", "full_name ILIKE '%81dc9bdb%'", "full_name_idx"),
+                Arguments.of("applications", "email ILIKE '%81dc9bdb%'", "email_idx"),
+                Arguments.of("applications", "phone ILIKE '%81dc9bdb%'", "phone_idx"),
+                Arguments.of("applications", "'81dc9bdc' <% full_name", "full_name_idx"),
+                Arguments.of("applications", "'81dc9bdc' <% email", "email_idx"),
+                Arguments.of("contact_messages", "name ILIKE '%81dc9bdb%'", "name_idx"),
+                Arguments.of("contact_messages", "email ILIKE '%81dc9bdb%'", "email_idx"),
+                Arguments.of("contact_messages", "phone ILIKE '%81dc9bdb%'", "phone_idx"),
+                Arguments.of("contact_messages", "company ILIKE '%81dc9bdb%'", "company_idx"),
+                Arguments.of("contact_messages", "subject ILIKE '%81dc9bdb%'", "subject_idx"),
+                Arguments.of("contact_messages", "'81dc9bdc' <% name", "name_idx"),
+                Arguments.of("contact_messages", "'81dc9bdc' <% company", "company_idx"),
+                Arguments.of("contact_messages", "'81dc9bdc' <% subject", "subject_idx"));
+    }
+
+    // Inlines the search parameters: part of row 1234's name (md5('1234') = 81dc9bdb...), a typo, the hot window
+    private static String searchSql(String sql, String filter, String filterValue) {
+        return sql.replace(":pattern", "'%81dc9bdb%'")
+                .replace(":term", "'81dc9bdc'")
+                .replace(":" + filter, filterValue)
+                .replace(":from", HOT_WINDOW_START)
+                .replace(":to", "now()");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndexes(String name, RepositoryCall call, List<String> binds, String expectedIndex) throws Exception {
+        SqlCapture.clear();
+        call.run(this);
+        List<String> statements = SqlCapture.statements();
+        assertEquals(1, statements.size(), name + " ran " + statements);
+        assertUsesIndex(name, explainPrepared(statements.get(0), binds), expectedIndex);
+    }
+
+    // The foreign key check Postgres runs on applications when a job is deleted
+    @Test
+    void jobDeleteForeignKeyCheckUsesIndex() throws Exception {
+        assertUsesIndex("applications.job_id lookup", explain("SELECT 1 FROM applications a WHERE a.job_id = 42"), "job_id");
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("searchPredicates")
+    void searchPredicateUsesTrigramIndex(String table, String predicate, String expectedIndex) throws Exception {
+        assertUsesIndex(table + " search", explain("SELECT * FROM " + table + " WHERE " + predicate), expectedIndex);
+    }
+
+    // With a few thousand rows per partition, reading the hot partitions by date is cheaper than
+    // probing every trigram index, so the full search query is only checked for sequential scans
+    @Test
+    void searchQueriesDoNotScanSequentially() throws Exception {
+        assertNoSeqScan("ApplicationRepository.search", explain(searchSql(
+                "SELECT a.* FROM applications a" + ApplicationRepository.SEARCH_WHERE, "status", "'NEW'")));
+        assertNoSeqScan("ContactMessageRepository.search", explain(searchSql(
+                "SELECT m.* FROM contact_messages m" + ContactMessageRepository.SEARCH_WHERE, "read", "NULL")));
+    }
+
+    @Test
+    void hotWindowQueriesSkipArchivedPartitions() throws Exception {
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(explain("SELECT * FROM applications a WHERE a.applied_at >= " + HOT_WINDOW_START), nodes);
+
+        String oldest = "applications_p" + HOT_WINDOW.minusMonths(1).toString().replace('-', '_');
+        for (JsonNode node : nodes) {
+            String relation = node.path("Relation Name").asText();
+            if (relation.startsWith("applications_p")) {
+                assertTrue(relation.compareTo(oldest) > 0, "partition " + relation + " should have been pruned");
+            }
+        }
+    }
+
+    private static void assertUsesIndex(String name, JsonNode plan, String expectedIndex) {
+        List<JsonNode> nodes = assertNoSeqScan(name, plan);
+        assertTrue(nodes.stream().anyMatch(n -> n.path("Index Name").asText().contains(expectedIndex)),
+                name + " does not use an index matching '" + expectedIndex + "':\n" + plan.toPrettyString());
+    }
+
+    private static List<JsonNode> assertNoSeqScan(String name, JsonNode plan) {
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(plan, nodes);
+        for (JsonNode node : nodes) {
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                String relation = node.path("Relation Name").asText();
+                assertFalse(isLargeTable(relation), name + " scans " + relation + " sequentially:\n" + plan.toPrettyString());
+            }
+        }
+        return nodes;
+    }
+
+    private static boolean isLargeTable(String relation) {
+        return LARGE_TABLES.stream().anyMatch(t -> relation.equals(t) || relation.startsWith(t + "_p")
+                || relation.equals(t + "_default"));
+    }
+
+    // Hibernate's ? placeholders become $1..$n, bound to the given literals
+    private static JsonNode explainPrepared(String sql, List<String> binds) throws Exception {
+        StringBuilder numbered = new StringBuilder();
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++n);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertEquals(binds.size(), n, "bind values for " + sql);
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("SET enable_seqscan = off");
+            st.execute("SET plan_cache_mode = force_custom_plan");
+            st.execute("PREPARE repository_query AS " + numbered);
+            String execute = binds.isEmpty() ? "repository_query" : "repository_query(" + String.join(", ", binds) + ")";
+            try (ResultSet rs = st.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE " + execute)) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+            } finally {
+                st.execute("DEALLOCATE repository_query");
+            }
+        }
+    }
+
+    private static JsonNode explain(String sql) throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("SET enable_seqscan = off");
+            try (ResultSet rs = st.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private static void collectNodes(JsonNode node, List<JsonNode> out) {
+        out.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collectNodes(child, out);
+        }
+    }
+
+    private static void seed() throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("SELECT ensure_monthly_partitions('applications', (now() - interval '15 months')::date, 3)");
+            st.execute("SELECT ensure_monthly_partitions('contact_messages', (now() - interval '15 months')::date, 3)");
+            st.execute("""
+                    INSERT INTO jobs (title, department, location, type, description, is_active, created_at)
+                    SELECT 'Job ' || g, 'Dept ' || (g % 8), 'City ' || (g % 12), 'Full-time', repeat('lorem ', 40),
+                           g % 50 = 0, now() - g * interval '1 minute'
+                    FROM generate_series(1, 20000) g""");
+            st.execute("""
+                    INSERT INTO blogs (title, excerpt, content, created_at, updated_at)
+                    SELECT 'Post ' || g, 'Excerpt ' || g, repeat('lorem ', 200), now() - g * interval '1 hour', now()
+                    FROM generate_series(1, 20000) g""");
+            st.execute("""
+                    INSERT INTO applications (job_id, full_name, email, status, applied_at)
+                    SELECT 1 + g % 20000, md5(g::text) || ' ' || md5((-g)::text), md5(g::text) || '@example.com',
+                           (ARRAY['NEW', 'REVIEWING', 'REJECTED'])[1 + g % 3],
+                           now() - (g % 430) * interval '1 day' - g * interval '1 second'
+                    FROM generate_series(1, 200000) g""");
+            st.execute("""
+                    INSERT INTO contact_messages (name, email, company, subject, message, created_at)
+                    SELECT md5(g::text), md5(g::text) || '@example.com', md5((g % 500)::text), md5((-g)::text),
+                           repeat('lorem ', 30), now() - (g % 430) * interval '1 day' - g * interval '1 second'
+                    FROM generate_series(1, 100000) g""");
+            st.execute("ANALYZE");
+        }
+    }
+}
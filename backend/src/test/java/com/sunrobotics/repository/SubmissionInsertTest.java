@@ -0,0 +1,64 @@
+package com.sunrobotics.repository;
+
+import com.sunrobotics.model.Job;
+import com.sunrobotics.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The inserts JournalReplayer relies on: replaying a submission that is already stored (the
+ * checkpoint was not written before a crash, or a timed-out write committed after all) must not
+ * add a second row.
+ */
+class SubmissionInsertTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @Test
+    void replayingAnApplicationTwiceLeavesOneRow() {
+        Job job = new Job();
+        job.setTitle("Robotics Engineer");
+        job.setDepartment("Engineering");
+        job.setLocation("Pune");
+        job.setType("Full-time");
+        job.setDescription("Build robots");
+        Long jobId = jobRepository.saveAndFlush(job).getId();
+        UUID submissionId = UUID.randomUUID();
+        LocalDateTime appliedAt = LocalDateTime.now().withNano(0);
+
+        assertEquals(1, applicationRepository.insertIfAbsent(jobId, "Asha Rao", "asha@example.com", null,
+                "https://example.com/cv", null, appliedAt, submissionId));
+        assertEquals(0, applicationRepository.insertIfAbsent(jobId, "Asha Rao", "asha@example.com", null,
+                "https://example.com/cv", null, appliedAt, submissionId));
+        // A different submission with the same content is a new application
+        assertEquals(1, applicationRepository.insertIfAbsent(jobId, "Asha Rao", "asha@example.com", null,
+                "https://example.com/cv", null, appliedAt, UUID.randomUUID()));
+
+        assertEquals(2, applicationRepository.count());
+    }
+
+    @Test
+    void replayingAContactMessageTwiceLeavesOneRow() {
+        UUID submissionId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+
+        assertEquals(1, contactMessageRepository.insertIfAbsent("Asha Rao", "asha@example.com", null, null,
+                "Demo", "Can we see the arm?", createdAt, submissionId));
+        assertEquals(0, contactMessageRepository.insertIfAbsent("Asha Rao", "asha@example.com", null, null,
+                "Demo", "Can we see the arm?", createdAt, submissionId));
+
+        assertEquals(1, contactMessageRepository.count());
+    }
+}
@@ -0,0 +1,112 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ArchiveService commits its own transactions, so the test must not wrap them in one
+@Import(ArchiveService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArchiveServiceTest extends EmbeddedPostgresTest {
+
+    // Long past the retention window and never given a partition, so its rows sit in applications_default
+    private static final YearMonth OLD_MONTH = YearMonth.now().minusYears(3);
+
+    @TempDir
+    static Path archiveDir;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("sunrobotics.archive.dir", archiveDir::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS refuse_delete ON applications_default");
+        jdbcTemplate.execute("DELETE FROM applications");
+        jdbcTemplate.update("INSERT INTO jobs (id, title, is_active, created_at) VALUES (1, 'Robotics Engineer', true, now()) "
+                + "ON CONFLICT (id) DO NOTHING");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION refuse_delete() RETURNS trigger LANGUAGE plpgsql AS $$
+                BEGIN
+                    RAISE EXCEPTION 'delete refused';
+                END $$""");
+    }
+
+    @Test
+    void failedDeleteLeavesTheArchiveUnchanged() throws Exception {
+        insertOldApplications(3);
+        archiveService.archiveExpiredPartitions();
+        Path file = archiveDir.resolve("applications").resolve(OLD_MONTH + ".ndjson.gz");
+        assertEquals(3, archivedLines(file).size());
+
+        // More rows for the archived month, and the DELETE fails this time
+        insertOldApplications(2);
+        jdbcTemplate.execute("CREATE TRIGGER refuse_delete BEFORE DELETE ON applications_default "
+                + "FOR EACH ROW EXECUTE FUNCTION refuse_delete()");
+        assertThrows(DataAccessException.class, () -> archiveService.archiveExpiredPartitions());
+
+        assertEquals(3, archivedLines(file).size());
+        assertEquals(2, defaultRows());
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            assertEquals(List.of(file), files.toList(), "leftover export files");
+        }
+
+        // The next run archives them once
+        jdbcTemplate.execute("DROP TRIGGER refuse_delete ON applications_default");
+        archiveService.archiveExpiredPartitions();
+        archiveService.archiveExpiredPartitions();
+        List<String> lines = archivedLines(file);
+        assertEquals(5, lines.size());
+        assertEquals(5, lines.stream().distinct().count());
+        assertEquals(0, defaultRows());
+    }
+
+    private void insertOldApplications(int count) {
+        jdbcTemplate.update("""
+                INSERT INTO applications (job_id, full_name, email, status, applied_at)
+                SELECT 1, 'Applicant ' || g, 'a' || g || '@example.com', 'NEW', ?::timestamp + g * interval '1 hour'
+                FROM generate_series(1, ?) g""", OLD_MONTH.atDay(1).atStartOfDay(), count);
+    }
+
+    private int defaultRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM applications_default", Integer.class);
+    }
+
+    private static List<String> archivedLines(Path file) throws Exception {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return in.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.model.BlogHeading;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogContentRendererTest {
+
+    private final BlogContentRenderer renderer = new BlogContentRenderer();
+
+    @Test
+    void rendersMarkdownWithHeadingAnchorsAndToc() {
+        BlogContentRenderer.Rendered rendered = renderer.render("""
+                # Building robots
+
+                Some **bold** text.
+
+                ## Why ROS 2?
+
+                | Part | Qty |
+                |------|-----|
+                | Motor | 4 |
+
+                ## Why ROS 2?
+                """);
+
+        assertTrue(rendered.html().contains("<h1 id=\"building-robots\">Building robots</h1>"), rendered.html());
+        assertTrue(rendered.html().contains("<strong>bold</strong>"), rendered.html());
+        assertTrue(rendered.html().contains("<table>"), rendered.html());
+        assertEquals(List.of(
+                new BlogHeading(1, "building-robots", "Building robots"),
+                new BlogHeading(2, "why-ros-2", "Why ROS 2?"),
+                new BlogHeading(2, "why-ros-2-1", "Why ROS 2?")), rendered.toc());
+    }
+
+    @Test
+    void sanitizesRawHtml() {
+        BlogContentRenderer.Rendered rendered = renderer.render("""
+                <p onclick="steal()">Hello <a href="javascript:alert(1)">there</a></p>
+                <script>alert(1)</script>
+                <img src="https://example.com/a.png" onerror="steal()">
+
+                [docs](/blog/2)
+                """);
+
+        assertFalse(rendered.html().contains("script"), rendered.html());
+        assertFalse(rendered.html().contains("onclick"), rendered.html());
+        assertFalse(rendered.html().contains("onerror"), rendered.html());
+        assertFalse(rendered.html().contains("javascript:"), rendered.html());
+        assertTrue(rendered.html().contains("src=\"https://example.com/a.png\""), rendered.html());
+        assertTrue(rendered.html().contains("href=\"/blog/2\""), rendered.html());
+    }
+
+    @Test
+    void computesWordCountAndReadTime() {
+        BlogContentRenderer.Rendered rendered = renderer.render("word ".repeat(401) + "\n\n**don't** count-this twice");
+
+        assertEquals(404, rendered.wordCount());
+        assertEquals("3 min read", rendered.readTime());
+        assertEquals("1 min read", renderer.render("").readTime());
+    }
+}
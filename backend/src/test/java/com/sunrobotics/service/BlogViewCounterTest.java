@@ -0,0 +1,133 @@
+package com.sunrobotics.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogViewCounterTest {
+
+    private static final long HOUR = 3_600_000;
+
+    // Captures each batch instead of writing it; can be told to fail like an unreachable database
+    private static class RecordingCounter extends BlogViewCounter {
+        final List<Map<Long, Long>> batches = new ArrayList<>();
+        boolean failing;
+
+        RecordingCounter() {
+            super(60, 5000);
+        }
+
+        @Override
+        void writeDeltas(Map<Long, Long> deltas) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            batches.add(new TreeMap<>(deltas));
+        }
+
+        long written(Long id) {
+            return batches.stream().mapToLong(b -> b.getOrDefault(id, 0L)).sum();
+        }
+    }
+
+    @Test
+    void flushesEveryViewWhileReadersKeepCounting() throws Exception {
+        RecordingCounter counter = new RecordingCounter();
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            readers.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.record(1L + i % 3);
+                }
+            });
+        }
+        // Flushes race with the increments; none may be dropped or counted twice
+        for (int i = 0; i < 20; i++) {
+            counter.flush();
+        }
+        readers.shutdown();
+        assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+        counter.flush();
+
+        assertEquals(80_000, counter.written(1L) + counter.written(2L) + counter.written(3L));
+        assertEquals(0, counter.unflushed(1L));
+        assertTrue(counter.batches.stream().allMatch(b -> b.size() <= 3));
+    }
+
+    @Test
+    void keepsDeltasUntilTheDatabaseIsBack() {
+        RecordingCounter counter = new RecordingCounter();
+        counter.failing = true;
+        counter.record(7L);
+        counter.flush();
+        counter.record(7L);
+        counter.record(8L);
+        counter.flush();
+        assertTrue(counter.batches.isEmpty());
+        // Still part of the count shown to readers while they wait
+        assertEquals(2, counter.unflushed(7L));
+        assertEquals(1, counter.unflushed(8L));
+
+        counter.failing = false;
+        counter.flush();
+        assertEquals(List.of(Map.of(7L, 2L, 8L, 1L)), counter.batches);
+        counter.flush();
+        assertEquals(1, counter.batches.size()); // nothing pending, no statement
+        assertEquals(0, counter.unflushed(7L));
+    }
+
+    @Test
+    void flushesOnItsOwnThread() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicReference<String> flushThread = new AtomicReference<>();
+        BlogViewCounter counter = new BlogViewCounter(60, 20) {
+            @Override
+            void writeDeltas(Map<Long, Long> deltas) {
+                flushThread.set(Thread.currentThread().getName());
+                written.countDown();
+            }
+        };
+        counter.start();
+        try {
+            counter.record(1L);
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            // Not one of Spring's scheduling threads, which the other @Scheduled jobs share
+            assertEquals("blog-view-flush", flushThread.get());
+        } finally {
+            counter.stop();
+        }
+    }
+
+    @Test
+    void ranksByViewsDecayedOverTime() {
+        RecordingCounter counter = new RecordingCounter(); // half-life 60 minutes
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            counter.record(1L);
+        }
+        counter.flush(start);
+        for (int i = 0; i < 40; i++) {
+            counter.record(2L);
+        }
+        counter.flush(start + 2 * HOUR);
+
+        // Two half-lives later post 1 is worth 25 views, so the newer 40 rank first
+        List<BlogViewCounter.TrendingEntry> top = counter.trending(5, start + 2 * HOUR);
+        assertEquals(List.of(2L, 1L), top.stream().map(BlogViewCounter.TrendingEntry::blogId).toList());
+        assertEquals(40.0, top.get(0).score(), 1e-6);
+        assertEquals(25.0, top.get(1).score(), 1e-6);
+
+        assertEquals(20.0, counter.trending(1, start + 3 * HOUR).get(0).score(), 1e-6);
+    }
+}
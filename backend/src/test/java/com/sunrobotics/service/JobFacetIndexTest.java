@@ -0,0 +1,121 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.dto.JobResponseDto;
+import com.sunrobotics.dto.JobSearchResultDto;
+import com.sunrobotics.model.Job;
+import com.sunrobotics.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobFacetIndexTest {
+
+    private final JobFacetIndex index = new JobFacetIndex();
+
+    @BeforeEach
+    void setUp() {
+        // No transaction here, so saved()/deleted() apply immediately
+        index.saved(job(1L, "Robotics Engineer", "Engineering", "Pune", "Full-time", List.of("ROS 2", "C++")));
+        index.saved(job(2L, "ML Researcher", "AI Research", "Remote", "Full-time", List.of("Python", "PyTorch")));
+        index.saved(job(3L, "Firmware Intern", "Engineering", "Remote", "Internship", List.of("Embedded C")));
+    }
+
+    @Test
+    void filtersAndCountsFacetsWithOtherFiltersApplied() {
+        JobSearchResultDto result = index.search(List.of("Engineering"), List.of("Remote"), null, null);
+
+        assertEquals(List.of(3L), ids(result));
+        // Department counts ignore the department filter itself, but keep location = Remote
+        assertEquals(Map.of("AI Research", 1, "Engineering", 1), result.facets().get("department"));
+        assertEquals(Map.of("Pune", 1, "Remote", 1), result.facets().get("location"));
+        assertEquals(Map.of("Internship", 1), result.facets().get("type"));
+    }
+
+    @Test
+    void matchesSearchWordsByPrefixAcrossFieldsAndRequirements() {
+        assertEquals(List.of(1L), ids(index.search(null, null, null, "robot ros")));
+        assertEquals(List.of(2L), ids(index.search(null, null, null, "pytorch")));
+        assertEquals(List.of(), ids(index.search(null, null, null, "python pune")));
+    }
+
+    @Test
+    void appliesUpdatesAndDeletesIncrementally() {
+        index.saved(job(2L, "ML Researcher", "AI Research", "Pune", "Full-time", List.of()));
+        index.deleted(3L);
+        Job inactive = job(1L, "Robotics Engineer", "Engineering", "Pune", "Full-time", List.of());
+        inactive.setActive(false);
+        index.saved(inactive);
+
+        JobSearchResultDto result = index.search(null, null, null, null);
+        assertEquals(List.of(2L), ids(result));
+        assertEquals(Map.of("Pune", 1), result.facets().get("location"));
+        assertEquals(Map.of("AI Research", 1), result.facets().get("department"));
+    }
+
+    @Test
+    void newestFirstAndRepeatedValuesMatchAny() {
+        JobSearchResultDto result = index.search(null, List.of("Pune", "Remote"), null, null);
+        assertEquals(List.of(3L, 2L, 1L), ids(result));
+        assertEquals(3, result.total());
+    }
+
+    @Test
+    void facetValuesMatchIgnoringCase() {
+        index.saved(job(4L, "Vision Engineer", "engineering ", "REMOTE", "Full-time", List.of()));
+
+        JobSearchResultDto result = index.search(List.of("ENGINEERING"), List.of(" remote"), null, null);
+        assertEquals(List.of(4L, 3L), ids(result));
+        // One entry per value, shown as first indexed
+        assertEquals(Map.of("Remote", 2, "Pune", 1), result.facets().get("location"));
+        assertEquals(Map.of("AI Research", 1, "Engineering", 2), result.facets().get("department"));
+    }
+
+    @Test
+    void rebuildKeepsChangesCommittedWhileReadingItsSnapshot() {
+        JobRepository repository = mock(JobRepository.class);
+        ReflectionTestUtils.setField(index, "jobRepository", repository);
+        Job stale = job(1L, "Robotics Engineer", "Engineering", "Pune", "Full-time", List.of());
+        // The snapshot still has job 1 in Pune and job 3; both change before the swap
+        when(repository.streamByIsActiveTrue()).thenAnswer(invocation -> {
+            index.saved(job(1L, "Robotics Engineer", "Engineering", "Remote", "Full-time", List.of()));
+            index.deleted(3L);
+            return Stream.of(stale, job(3L, "Firmware Intern", "Engineering", "Remote", "Internship", List.of()));
+        });
+
+        index.rebuild();
+
+        JobSearchResultDto result = index.search(null, null, null, null);
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(Map.of("Remote", 1), result.facets().get("location"));
+
+        // Once the rebuild is done, later rebuilds see the database again
+        when(repository.streamByIsActiveTrue()).thenAnswer(invocation -> Stream.of(stale));
+        index.rebuild();
+        assertEquals(Map.of("Pune", 1), index.search(null, null, null, null).facets().get("location"));
+    }
+
+    private static List<Long> ids(JobSearchResultDto result) {
+        return result.jobs().stream().map(JobResponseDto::id).toList();
+    }
+
+    private static Job job(Long id, String title, String department, String location, String type, List<String> requirements) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setDepartment(department);
+        job.setLocation(location);
+        job.setType(type);
+        job.setRequirementItems(requirements);
+        job.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusDays(id));
+        return job;
+    }
+}
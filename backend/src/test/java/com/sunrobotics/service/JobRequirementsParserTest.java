@@ -0,0 +1,29 @@
+package com.sunrobotics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JobRequirementsParserTest {
+
+    private final JobRequirementsParser parser = new JobRequirementsParser();
+
+    JobRequirementsParserTest() {
+        ReflectionTestUtils.setField(parser, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void parsesEveryFormatAdminsUse() {
+        assertEquals(List.of("ROS", "C++", "Python"), parser.parse("[\"ROS\", \"C++\", \"Python\"]"));
+        assertEquals(List.of("3+ years of ROS", "Strong C++", "Linux"),
+                parser.parse("- 3+ years of ROS\n* Strong C++\n\n• Linux"));
+        assertEquals(List.of("ROS", "Python"), parser.parse("1. ROS\n2) Python"));
+        assertEquals(List.of("ROS", "C++", "Computer vision"), parser.parse("ROS, C++, Computer vision, ROS"));
+        assertEquals(List.of("[not json"), parser.parse("[not json"));
+        assertEquals(List.of(), parser.parse("  "));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sunrobotics.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sunrobotics.model.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMergePatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final JsonMergePatcher patcher = new JsonMergePatcher();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(patcher, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void appliesOnlySuppliedFields() throws Exception {
+        Job job = job();
+        patcher.apply(job, objectMapper.readTree("{\"active\": false, \"location\": null}"));
+
+        assertFalse(job.isActive());
+        assertNull(job.getLocation());
+        assertEquals("Robotics Engineer", job.getTitle());
+        assertEquals("Long description", job.getDescription());
+    }
+
+    @Test
+    void ignoresServerManagedFields() throws Exception {
+        Job job = job();
+        patcher.apply(job, objectMapper.readTree("{\"id\": 99, \"version\": 7, \"title\": \"Lead\"}"));
+
+        assertEquals(1L, job.getId());
+        assertEquals(3L, job.getVersion());
+        assertEquals("Lead", job.getTitle());
+    }
+
+    @Test
+    void rejectsStaleVersion() throws Exception {
+        JsonNode patch = objectMapper.readTree("{\"version\": 2, \"title\": \"Lead\"}");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> patcher.checkVersion(patch, 3L, Job.class, 1L));
+        assertDoesNotThrow(() -> patcher.checkVersion(objectMapper.readTree("{\"version\": 3}"), 3L, Job.class, 1L));
+        assertDoesNotThrow(() -> patcher.checkVersion(objectMapper.readTree("{\"title\": \"x\"}"), 3L, Job.class, 1L));
+    }
+
+    @Test
+    void rejectsNonIntegerVersionAsBadRequest() {
+        for (String version : List.of("\"abc\"", "\"3\"", "1.5", "true", "{}")) {
+            RuntimeException error = assertThrows(RuntimeException.class, () -> patcher.checkVersion(
+                    objectMapper.readTree("{\"version\": " + version + "}"), 0L, Job.class, 1L), version);
+            // Handled as 400, not as a 409 version conflict
+            assertFalse(error instanceof ObjectOptimisticLockingFailureException, version);
+            assertEquals("version must be an integer", error.getMessage());
+        }
+    }
+
+    @Test
+    void replacementRequiresCurrentVersion() {
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> patcher.checkVersion(2L, 3L, Job.class, 1L));
+        assertThrows(RuntimeException.class, () -> patcher.checkVersion((Long) null, 3L, Job.class, 1L));
+        assertDoesNotThrow(() -> patcher.checkVersion(3L, 3L, Job.class, 1L));
+    }
+
+    @Test
+    void rejectsNonObjectPatch() throws Exception {
+        assertThrows(RuntimeException.class, () -> patcher.apply(job(), objectMapper.readTree("[1, 2]")));
+    }
+
+    private Job job() {
+        Job job = new Job();
+        job.setId(1L);
+        job.setVersion(3L);
+        job.setTitle("Robotics Engineer");
+        job.setLocation("Pune");
+        job.setDescription("Long description");
+        return job;
+    }
+}
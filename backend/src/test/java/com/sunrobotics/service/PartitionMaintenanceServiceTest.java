@@ -0,0 +1,83 @@
+package com.sunrobotics.service;
+
+import com.sunrobotics.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(PartitionMaintenanceService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PartitionMaintenanceServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesRowsOutOfTheDefaultPartitionBeforeCreatingTheirMonth() {
+        // Far enough ahead that the migration did not create it
+        YearMonth month = YearMonth.now().plusMonths(8);
+        String partition = partitionName("contact_messages", month);
+        jdbcTemplate.update("INSERT INTO contact_messages (name, email, message, created_at) VALUES ('Asha', 'a@example.com', 'Hi', ?)",
+                month.atDay(10).atStartOfDay());
+        assertEquals(1, count("contact_messages_default"));
+
+        partitionMaintenanceService.createPartition("contact_messages", month);
+        // Already there: nothing to do the second time
+        partitionMaintenanceService.createPartition("contact_messages", month);
+
+        assertEquals(0, count("contact_messages_default"));
+        assertEquals(1, count(partition));
+        assertEquals(1, count("contact_messages"));
+    }
+
+    @Test
+    void oneFailingMonthDoesNotStopTheOthers() {
+        ReflectionTestUtils.setField(partitionMaintenanceService, "monthsAhead", 6);
+        YearMonth blocked = YearMonth.now().plusMonths(5);
+        jdbcTemplate.update("INSERT INTO jobs (id, title, is_active) VALUES (1, 'Robotics Engineer', true)");
+        jdbcTemplate.update("INSERT INTO applications (job_id, full_name, applied_at) VALUES (1, 'Asha', ?)",
+                blocked.atDay(3).atStartOfDay());
+        // Moving that month's row out of the default partition fails; months without rows there are unaffected
+        jdbcTemplate.execute("""
+                CREATE FUNCTION refuse_delete() RETURNS trigger LANGUAGE plpgsql AS $$
+                BEGIN
+                    RAISE EXCEPTION 'delete refused';
+                END $$""");
+        jdbcTemplate.execute("CREATE TRIGGER refuse_delete BEFORE DELETE ON applications_default "
+                + "FOR EACH ROW EXECUTE FUNCTION refuse_delete()");
+        try {
+            assertDoesNotThrow(() -> partitionMaintenanceService.createUpcomingPartitions());
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER refuse_delete ON applications_default");
+        }
+
+        assertFalse(exists(partitionName("applications", blocked)));
+        assertTrue(exists(partitionName("applications", blocked.minusMonths(1))));
+        assertTrue(exists(partitionName("applications", blocked.plusMonths(1))));
+        assertTrue(exists(partitionName("contact_messages", blocked)));
+        assertEquals(1, count("applications_default"));
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.getYear() + "_" + String.format("%02d", month.getMonthValue());
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sunrobotics.timing;
+
+import com.sunrobotics.dto.EndpointTimingDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.detach();
+    }
+
+    @Test
+    void sendsHeaderWithRecordedPhasesWhenReported() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestTiming timing = new RequestTiming(response, false);
+        RequestTiming.attach(timing);
+
+        RequestTiming.record(Phase.AUTH, 250_000);
+        timing.handlerStarted("/api/jobs/{id}", true);
+        RequestTiming.record(Phase.DB_ACQUIRE, 1_500_000);
+        RequestTiming.recordStatement(2_000_000);
+        RequestTiming.recordStatement(1_005_000);
+        timing.serializationStarted();
+
+        String header = response.getHeader(RequestTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.contains("auth;dur=0.250"), header);
+        assertTrue(header.contains("db-acquire;dur=1.500"), header);
+        assertTrue(header.contains("sql;dur=3.005;desc=\"2 statements\""), header);
+        assertTrue(header.startsWith("filter;dur="), header);
+        assertFalse(header.contains("ser;"), header);
+    }
+
+    @Test
+    void skipsHeaderWhenNotReported() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestTiming timing = new RequestTiming(response, false);
+        timing.handlerStarted("/api/jobs", false);
+        timing.serializationStarted();
+
+        assertNull(response.getHeader(RequestTiming.HEADER));
+    }
+
+    @Test
+    void recordingWithoutRequestIsIgnored() {
+        assertDoesNotThrow(() -> RequestTiming.recordStatement(1_000));
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void summarizesPerEndpoint() {
+        TimingStats stats = new TimingStats(5);
+        for (int i = 0; i < 3; i++) {
+            RequestTiming timing = new RequestTiming(new MockHttpServletResponse(), false);
+            RequestTiming.attach(timing);
+            timing.handlerStarted("/api/jobs", false);
+            RequestTiming.recordStatement(2_000_000);
+            timing.serializationStarted();
+            timing.finish();
+            stats.record("GET", timing);
+        }
+        stats.record("GET", finished(new RequestTiming(new MockHttpServletResponse(), false)));
+
+        List<EndpointTimingDto> summary = stats.summary();
+        EndpointTimingDto jobs = summary.stream().filter(d -> d.endpoint().equals("GET /api/jobs")).findFirst().orElseThrow();
+        assertEquals(3, jobs.requests());
+        assertEquals(1.0, jobs.avgStatements());
+        assertEquals(2.0, jobs.avgPhaseMs().get("sql"));
+        assertEquals(List.of("filter", "auth", "db-acquire", "sql", "handler", "ser"), List.copyOf(jobs.avgPhaseMs().keySet()));
+        assertTrue(summary.stream().anyMatch(d -> d.endpoint().equals("GET " + TimingStats.NO_HANDLER)));
+    }
+
+    private static RequestTiming finished(RequestTiming timing) {
+        timing.finish();
+        return timing;
+    }
+}
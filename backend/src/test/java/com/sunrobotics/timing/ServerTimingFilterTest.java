@@ -0,0 +1,88 @@
+package com.sunrobotics.timing;
+
+import com.sunrobotics.dto.EndpointTimingDto;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private final TimingStats stats = new TimingStats(5);
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "timingStats", stats);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+    }
+
+    @Test
+    void sendsHeaderWhenTheResponseIsFlushedWithoutBody() throws Exception {
+        // What ResponseEntity.notFound().build() does: status, then flush, no body
+        MockHttpServletResponse response = run("GET", (req, res) -> {
+            RequestTiming.current().handlerStarted("/api/jobs/{id}", true);
+            ((HttpServletResponse) res).setStatus(404);
+            res.flushBuffer();
+        });
+
+        assertTrue(response.isCommitted());
+        String header = response.getHeader(RequestTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("filter;dur="), header);
+    }
+
+    @Test
+    void sendsHeaderWhenTheHandlerWritesNothing() throws Exception {
+        // A Void handler: nothing touches the response before the chain returns
+        MockHttpServletResponse response = run("DELETE", (req, res) ->
+                RequestTiming.current().handlerStarted("/api/jobs/{id}", true));
+
+        assertNotNull(response.getHeader(RequestTiming.HEADER));
+    }
+
+    @Test
+    void sendsHeaderBeforeAnError() throws Exception {
+        MockHttpServletResponse response = run("GET", (req, res) -> {
+            RequestTiming.current().handlerStarted("/api/blogs/{id}", true);
+            ((HttpServletResponse) res).sendError(404);
+        });
+
+        assertEquals(404, response.getStatus());
+        assertNotNull(response.getHeader(RequestTiming.HEADER));
+    }
+
+    @Test
+    void skipsHeaderWhenNotReported() throws Exception {
+        MockHttpServletResponse response = run("GET", (req, res) -> {
+            RequestTiming.current().handlerStarted("/api/jobs/{id}", false);
+            res.flushBuffer();
+        });
+
+        assertNull(response.getHeader(RequestTiming.HEADER));
+    }
+
+    @Test
+    void groupsUnknownMethodsTogether() throws Exception {
+        run("GET", (req, res) -> RequestTiming.current().handlerStarted("/api/jobs", false));
+        run("BREW", (req, res) -> RequestTiming.current().handlerStarted("/api/jobs", false));
+        run("X-ANYTHING-" + System.nanoTime(), (req, res) -> RequestTiming.current().handlerStarted("/api/jobs", false));
+
+        List<String> endpoints = stats.summary().stream().map(EndpointTimingDto::endpoint).sorted().toList();
+        assertEquals(List.of("GET /api/jobs", TimingStats.OTHER_METHOD + " /api/jobs"), endpoints);
+    }
+
+    private MockHttpServletResponse run(String method, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/jobs/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
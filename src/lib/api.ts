@@ -13,7 +13,27 @@ export interface Job {
     type: string;
     description: string;
     requirements: string;
+    requirementItems?: string[]; // parsed from requirements by the backend
     active: boolean;
+    version?: number; // sent back on update; a stale one is rejected with 409
+}
+
+// GET /jobs: matching active jobs and, per facet, how many jobs each value has
+export interface JobSearchResult {
+    jobs: Job[];
+    total: number;
+    facets: {
+        department: Record<string, number>;
+        location: Record<string, number>;
+        type: Record<string, number>;
+    };
+}
+
+export interface JobFilters {
+    department?: string[];
+    location?: string[];
+    type?: string[];
+    q?: string;
 }
 
 export interface Blog {
@@ -23,14 +43,61 @@ export interface Blog {
     content: string;
     category: string;
     author: string;
-    readTime: string;
+    readTime?: string; // computed by the backend from the content
     imageUrl: string;
     createdAt?: string;
+    version?: number; // sent back on update; a stale one is rejected with 409
+    // Only on GET /blogs/{id}: rendered and sanitized when the post is saved
+    contentHtml?: string;
+    toc?: BlogHeading[];
+    wordCount?: number;
+    viewCount?: number;
+}
+
+// GET /blogs: the card fields of every post, newest first (no content; the editor uses getAllBlogsAdmin)
+export interface BlogSummary {
+    id: number;
+    title: string;
+    excerpt: string;
+    category: string;
+    author: string;
+    imageUrl: string;
+    readTime: string;
+    createdAt: string;
+    updatedAt: string;
+}
+
+// GET /blogs/trending: most-read posts lately, score decays with time
+export interface TrendingBlog {
+    id: number;
+    title: string;
+    excerpt: string;
+    category: string;
+    author: string;
+    imageUrl: string;
+    readTime: string;
+    createdAt: string;
+    viewCount: number;
+    score: number;
+}
+
+export interface BlogHeading {
+    level: number;
+    id: string;
+    text: string;
+}
+
+// The job as embedded in an application (JobSummaryDto), not the full Job
+export interface JobSummary {
+    id: number;
+    title: string;
+    department: string;
+    location: string;
 }
 
 export interface Application {
     id: number;
-    job: Job;
+    job: JobSummary;
     fullName: string;
     email: string;
     phone: string;
@@ -101,7 +168,17 @@ export const api = {
 
     // --- PUBLIC ENDPOINTS (No Token Needed) ---
     getJobs: async (): Promise<Job[]> => {
-        const response = await fetch(`${API_URL}/jobs`);
+        return (await api.searchJobs()).jobs;
+    },
+
+    searchJobs: async (filters: JobFilters = {}): Promise<JobSearchResult> => {
+        const params = new URLSearchParams();
+        filters.department?.forEach((v) => params.append("department", v));
+        filters.location?.forEach((v) => params.append("location", v));
+        filters.type?.forEach((v) => params.append("type", v));
+        if (filters.q) params.set("q", filters.q);
+        const query = params.toString();
+        const response = await fetch(`${API_URL}/jobs${query ? `?${query}` : ""}`);
         if (!response.ok) throw new Error("Failed to fetch jobs");
         return response.json();
     },
@@ -136,7 +213,7 @@ export const api = {
     },
 
     // --- BLOGS (Public) ---
-    getBlogs: async (): Promise<Blog[]> => {
+    getBlogs: async (): Promise<BlogSummary[]> => {
         const response = await fetch(`${API_URL}/blogs`);
         if (!response.ok) throw new Error("Failed to fetch blogs");
         return response.json();
@@ -148,6 +225,12 @@ export const api = {
         return response.json();
     },
 
+    getTrendingBlogs: async (limit = 5): Promise<TrendingBlog[]> => {
+        const response = await fetch(`${API_URL}/blogs/trending?limit=${limit}`);
+        if (!response.ok) throw new Error("Failed to fetch trending blogs");
+        return response.json();
+    },
+
     // --- ADMIN ENDPOINTS (Protected with Token) ---
 
     // Jobs
@@ -175,6 +258,7 @@ export const api = {
             headers: getAuthHeaders(),
             body: JSON.stringify(job),
         });
+        if (response.status === 409) throw new Error("This job was changed by someone else. Reload and try again.");
         if (!response.ok) throw new Error("Failed to update job");
         return response.json();
     },
@@ -235,6 +319,14 @@ export const api = {
     },
 
     // --- BLOGS (Admin) ---
+    getAllBlogsAdmin: async (): Promise<Blog[]> => {
+        const response = await fetch(`${API_URL}/admin/blogs`, {
+            headers: getAuthHeaders()
+        });
+        if (!response.ok) throw new Error("Failed to fetch admin blogs");
+        return response.json();
+    },
+
     createBlog: async (blog: Blog) => {
         const response = await fetch(`${API_URL}/admin/blogs`, {
             method: "POST",
@@ -251,6 +343,7 @@ export const api = {
             headers: getAuthHeaders(),
             body: JSON.stringify(blog),
         });
+        if (response.status === 409) throw new Error("This post was changed by someone else. Reload and try again.");
         if (!response.ok) throw new Error("Failed to update blog");
         return response.json();
     },
@@ -2,7 +2,7 @@ import { useEffect, useRef, useState } from "react";
 import { motion, useInView } from "framer-motion";
 import { Calendar, Clock, ArrowRight } from "lucide-react";
 import { SEO } from "@/components/SEO";
-import { api, Blog as BlogType } from "@/lib/api";
+import { api, BlogSummary } from "@/lib/api";
 import { Skeleton } from "@/components/ui/skeleton";
 import { useNavigate } from "react-router-dom";
 
@@ -13,7 +13,7 @@ const Blog = () => {
     const isGridInView = useInView(gridRef, { once: true, margin: "-100px" });
     const navigate = useNavigate();
 
-    const [posts, setPosts] = useState<BlogType[]>([]);
+    const [posts, setPosts] = useState<BlogSummary[]>([]);
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
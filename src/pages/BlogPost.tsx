@@ -113,6 +113,22 @@ const BlogPost = () => {
                         </motion.div>
                     )}
 
+                    {/* Table of Contents */}
+                    {blog.toc && blog.toc.length > 1 && (
+                        <nav className="mb-10 rounded-xl border bg-muted/40 p-6">
+                            <p className="font-semibold mb-3">On this page</p>
+                            <ul className="space-y-1 text-sm">
+                                {blog.toc.map((heading) => (
+                                    <li key={heading.id} style={{ paddingLeft: `${(heading.level - 1) * 0.75}rem` }}>
+                                        <a href={`#${heading.id}`} className="text-muted-foreground hover:text-primary">
+                                            {heading.text}
+                                        </a>
+                                    </li>
+                                ))}
+                            </ul>
+                        </nav>
+                    )}
+
                     {/* Content */}
                     <motion.div
                         initial={{ opacity: 0 }}
@@ -120,10 +136,8 @@ const BlogPost = () => {
                         transition={{ delay: 0.2 }}
                         className="prose prose-lg dark:prose-invert max-w-none"
                     >
-                        {/* SAFEGUARD: In a real app, use a library like 'dompurify'
-                           to sanitize this HTML before rendering to prevent XSS.
-                        */}
-                        <div dangerouslySetInnerHTML={{ __html: blog.content }} />
+                        {/* Rendered from Markdown and sanitized by the backend when the post was saved */}
+                        <div dangerouslySetInnerHTML={{ __html: blog.contentHtml ?? "" }} />
                     </motion.div>
                 </div>
             </article>
@@ -1,7 +1,7 @@
 //
 import { useState, useRef, useEffect } from "react";
 import { motion, useInView } from "framer-motion";
-import { MapPin, Clock, Briefcase, Send, Loader2, Info, CheckCircle, ArrowRight } from "lucide-react";
+import { MapPin, Clock, Briefcase, Send, Loader2, Info, CheckCircle, ArrowRight, Search } from "lucide-react";
 import { useForm } from "react-hook-form";
 import { zodResolver } from "@hookform/resolvers/zod";
 import { z } from "zod";
@@ -26,7 +26,7 @@ import {
 } from "@/components/ui/form";
 import { toast } from "sonner";
 import { SEO } from "@/components/SEO";
-import { api, Job } from "@/lib/api";
+import { api, Job, JobFilters, JobSearchResult } from "@/lib/api";
 
 // Validation schema matching Backend ApplicationRequestDto
 const applicationSchema = z.object({
@@ -61,6 +61,14 @@ const applicationSchema = z.object({
 
 type ApplicationFormData = z.infer<typeof applicationSchema>;
 
+type FacetName = "department" | "location" | "type";
+
+const FACETS: { name: FacetName; label: string }[] = [
+    { name: "department", label: "Department" },
+    { name: "location", label: "Location" },
+    { name: "type", label: "Type" },
+];
+
 const Careers = () => {
     const heroRef = useRef(null);
     const jobsRef = useRef(null);
@@ -68,6 +76,9 @@ const Careers = () => {
     const isJobsInView = useInView(jobsRef, { once: true, margin: "-100px" });
 
     const [jobs, setJobs] = useState<Job[]>([]);
+    const [facets, setFacets] = useState<JobSearchResult["facets"] | null>(null);
+    const [filters, setFilters] = useState<JobFilters>({});
+    const [search, setSearch] = useState("");
     const [loading, setLoading] = useState(true);
 
     // State to manage Modal visibility
@@ -76,22 +87,53 @@ const Careers = () => {
     const [isDetailsOpen, setIsDetailsOpen] = useState(false);
     const [isSubmitting, setIsSubmitting] = useState(false);
 
-    // Fetch jobs from backend on mount
+    // Wait for a pause in typing before searching
+    useEffect(() => {
+        const timer = setTimeout(() => {
+            setFilters((current) => ({ ...current, q: search.trim() || undefined }));
+        }, 300);
+        return () => clearTimeout(timer);
+    }, [search]);
+
+    // The backend only returns active jobs, filtered, with counts for every facet value
     useEffect(() => {
+        let cancelled = false;
         const fetchJobs = async () => {
             try {
-                const data = await api.getJobs();
-                // Filter only active jobs
-                setJobs(data.filter((j) => j.active));
+                const data = await api.searchJobs(filters);
+                if (!cancelled) {
+                    setJobs(data.jobs);
+                    setFacets(data.facets);
+                }
             } catch (error) {
                 console.error("Failed to fetch jobs:", error);
-                toast.error("Could not load open positions. Is the backend running?");
+                if (!cancelled) toast.error("Could not load open positions. Is the backend running?");
             } finally {
-                setLoading(false);
+                if (!cancelled) setLoading(false);
             }
         };
         fetchJobs();
-    }, []);
+        return () => {
+            cancelled = true;
+        };
+    }, [filters]);
+
+    const toggleFilter = (facet: FacetName, value: string) => {
+        setFilters((current) => {
+            const selected = current[facet] ?? [];
+            const next = selected.includes(value)
+                ? selected.filter((v) => v !== value)
+                : [...selected, value];
+            return { ...current, [facet]: next.length > 0 ? next : undefined };
+        });
+    };
+
+    const hasFilters = FACETS.some(({ name }) => (filters[name]?.length ?? 0) > 0) || !!filters.q;
+
+    const clearFilters = () => {
+        setSearch("");
+        setFilters({});
+    };
 
     const form = useForm<ApplicationFormData>({
         resolver: zodResolver(applicationSchema),
@@ -144,12 +186,6 @@ const Careers = () => {
         }
     };
 
-    // Helper to parse requirements
-    const getRequirementsCount = (reqs: string) => {
-        if (!reqs) return 0;
-        return reqs.split(',').length;
-    };
-
     return (
         <>
             <SEO
@@ -203,6 +239,57 @@ const Careers = () => {
                         </p>
                     </motion.div>
 
+                    {/* Search and facet filters; each count is what that value would give */}
+                    {!loading && facets && (
+                        <div className="max-w-7xl mx-auto mb-10 space-y-4">
+                            <div className="relative max-w-md mx-auto">
+                                <Search className="w-4 h-4 absolute left-3 top-1/2 -translate-y-1/2 text-muted-foreground" />
+                                <Input
+                                    value={search}
+                                    onChange={(e) => setSearch(e.target.value)}
+                                    placeholder="Search roles, skills, locations..."
+                                    className="pl-9 bg-muted/50 border-border focus:border-primary"
+                                />
+                            </div>
+                            {FACETS.map(({ name, label }) => {
+                                // Selected values stay visible (at 0) so they can be turned off again
+                                const values = Object.entries(facets[name]);
+                                filters[name]?.forEach((value) => {
+                                    if (!(value in facets[name])) values.push([value, 0]);
+                                });
+                                if (values.length === 0) return null;
+                                return (
+                                    <div key={name} className="flex flex-wrap items-center justify-center gap-2">
+                                        <span className="text-xs font-semibold text-muted-foreground uppercase tracking-wider mr-1">
+                                            {label}
+                                        </span>
+                                        {values.map(([value, count]) => {
+                                            const active = filters[name]?.includes(value) ?? false;
+                                            return (
+                                                <Button
+                                                    key={value}
+                                                    size="sm"
+                                                    variant={active ? "default" : "outline"}
+                                                    onClick={() => toggleFilter(name, value)}
+                                                    className="rounded-full"
+                                                >
+                                                    {value} <span className="ml-1 opacity-70">({count})</span>
+                                                </Button>
+                                            );
+                                        })}
+                                    </div>
+                                );
+                            })}
+                            {hasFilters && (
+                                <div className="text-center">
+                                    <Button variant="ghost" size="sm" onClick={clearFilters}>
+                                        Clear filters
+                                    </Button>
+                                </div>
+                            )}
+                        </div>
+                    )}
+
                     {loading ? (
                         <div className="flex justify-center items-center py-20">
                             <Loader2 className="w-8 h-8 text-primary animate-spin" />
@@ -210,7 +297,11 @@ const Careers = () => {
                     ) : jobs.length === 0 ? (
                         <div className="text-center py-20 glass-card max-w-2xl mx-auto rounded-xl">
                             <Briefcase className="w-12 h-12 mx-auto mb-4 opacity-50" />
-                            <p className="text-muted-foreground">No open positions at the moment. Please check back later.</p>
+                            <p className="text-muted-foreground">
+                                {hasFilters
+                                    ? "No open positions match these filters."
+                                    : "No open positions at the moment. Please check back later."}
+                            </p>
                         </div>
                     ) : (
                         <div className="grid md:grid-cols-2 lg:grid-cols-3 gap-6 max-w-7xl mx-auto">
@@ -293,9 +384,17 @@ const Careers = () => {
                                         <CheckCircle className="w-5 h-5 text-primary" />
                                         Key Skills & Requirements
                                     </h4>
-                                    <p className="text-sm text-foreground whitespace-pre-wrap leading-relaxed">
-                                        {selectedJob.requirements || "No specific requirements listed."}
-                                    </p>
+                                    {selectedJob.requirementItems && selectedJob.requirementItems.length > 0 ? (
+                                        <ul className="list-disc pl-5 space-y-1 text-sm text-foreground leading-relaxed">
+                                            {selectedJob.requirementItems.map((item) => (
+                                                <li key={item}>{item}</li>
+                                            ))}
+                                        </ul>
+                                    ) : (
+                                        <p className="text-sm text-foreground whitespace-pre-wrap leading-relaxed">
+                                            {selectedJob.requirements || "No specific requirements listed."}
+                                        </p>
+                                    )}
                                 </div>
                             </div>
 
@@ -26,7 +26,6 @@ const AdminBlogs = () => {
         content: "",
         category: "",
         author: "Sun Robotics Team",
-        readTime: "",
         imageUrl: "/placeholder.svg"
     });
 
@@ -36,7 +35,7 @@ const AdminBlogs = () => {
 
     const fetchBlogs = async () => {
         try {
-            const data = await api.getBlogs();
+            const data = await api.getAllBlogsAdmin();
             setBlogs(data);
         } catch (error) {
             toast.error("Failed to load blogs");
@@ -60,7 +59,8 @@ const AdminBlogs = () => {
             resetForm();
             fetchBlogs();
         } catch (error) {
-            toast.error("Operation failed");
+            toast.error(error instanceof Error && error.message.includes("changed by someone else")
+                ? error.message : "Operation failed");
         }
     };
 
@@ -89,7 +89,6 @@ const AdminBlogs = () => {
             content: "",
             category: "",
             author: "Sun Robotics Team",
-            readTime: "",
             imageUrl: "/placeholder.svg"
         });
         setEditingBlog(null);
@@ -136,22 +135,13 @@ const AdminBlogs = () => {
                                 </div>
                             </div>
 
-                            <div className="grid grid-cols-2 gap-4">
-                                <div className="space-y-2">
-                                    <label className="text-sm font-medium">Read Time</label>
-                                    <Input
-                                        placeholder="e.g. 5 min read"
-                                        value={formData.readTime}
-                                        onChange={(e) => setFormData({...formData, readTime: e.target.value})}
-                                    />
-                                </div>
-                                <div className="space-y-2">
-                                    <label className="text-sm font-medium">Image URL</label>
-                                    <Input
-                                        value={formData.imageUrl}
-                                        onChange={(e) => setFormData({...formData, imageUrl: e.target.value})}
-                                    />
-                                </div>
+                            {/* Read time is computed from the content when the blog is saved */}
+                            <div className="space-y-2">
+                                <label className="text-sm font-medium">Image URL</label>
+                                <Input
+                                    value={formData.imageUrl}
+                                    onChange={(e) => setFormData({...formData, imageUrl: e.target.value})}
+                                />
                             </div>
 
                             <div className="space-y-2">
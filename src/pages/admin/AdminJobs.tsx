@@ -46,7 +46,9 @@ const AdminJobs = () => {
             resetForm();
             fetchJobs();
         } catch (error) {
-            toast({ title: "Error", description: "Operation failed", variant: "destructive" });
+            const description = error instanceof Error && error.message.includes("changed by someone else")
+                ? error.message : "Operation failed";
+            toast({ title: "Error", description, variant: "destructive" });
         }
     };
 